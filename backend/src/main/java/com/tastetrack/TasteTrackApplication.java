@@ -2,8 +2,10 @@ package com.tastetrack;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TasteTrackApplication {
     public static void main(String[] args) {
         SpringApplication.run(TasteTrackApplication.class, args);
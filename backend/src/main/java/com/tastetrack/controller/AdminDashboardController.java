@@ -0,0 +1,32 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.metrics.DashboardMetrics;
+import com.tastetrack.security.SecurityUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/dashboard")
+@CrossOrigin(origins = "*")
+public class AdminDashboardController {
+    private static final int MAX_TOP_RESTAURANTS = 50;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    /**
+     * Admin endpoint - Orders per status, revenue and average ticket overall, today and for the top restaurants
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestParam(defaultValue = "5") int top) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+            return ResponseEntity.ok(dashboardMetrics.summary(Math.min(top, MAX_TOP_RESTAURANTS)));
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
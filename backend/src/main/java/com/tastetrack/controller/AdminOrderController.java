@@ -0,0 +1,61 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.entity.Order;
+import com.tastetrack.security.SecurityUtil;
+import com.tastetrack.service.OrderSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/orders")
+@CrossOrigin(origins = "*")
+public class AdminOrderController {
+    @Autowired
+    private OrderSearchService orderSearchService;
+
+    /**
+     * Admin endpoint - Orders in any of the given statuses (all when none), optionally for one
+     * restaurant and between two days, newest first, with the number of orders in each status
+     */
+    @GetMapping
+    public ResponseEntity<?> searchOrders(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            List<Order.OrderStatus> statuses = new ArrayList<>();
+            if (status != null) {
+                for (String value : status) {
+                    statuses.add(Order.OrderStatus.valueOf(value.trim().toUpperCase()));
+                }
+            }
+            return ResponseEntity.ok(orderSearchService.search(statuses, restaurantId, from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "Invalid order status");
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
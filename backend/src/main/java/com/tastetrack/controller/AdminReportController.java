@@ -0,0 +1,96 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.entity.Payment;
+import com.tastetrack.reporting.CustomerCohorts;
+import com.tastetrack.reporting.OrderRollups;
+import com.tastetrack.security.SecurityUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@CrossOrigin(origins = "*")
+public class AdminReportController {
+    @Autowired
+    private OrderRollups orderRollups;
+
+    @Autowired
+    private CustomerCohorts customerCohorts;
+
+    /**
+     * Admin endpoint - Delivered orders and revenue per hour or day between two days, read from the rollup tables
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) String groupBy) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            if (!granularity.equals("hour") && !granularity.equals("day")) {
+                throw new RuntimeException("granularity must be hour or day");
+            }
+            String method = null;
+            if (paymentMethod != null) {
+                try {
+                    method = Payment.PaymentMethod.valueOf(paymentMethod.toUpperCase()).name();
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Invalid payment method");
+                }
+            }
+            return ResponseEntity.ok(orderRollups.timeSeries(granularity.equals("hour"), from, to,
+                    restaurantId, method, groupBy));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Admin endpoint - Retention of signup or first-order cohorts per day or week, optionally at one restaurant
+     */
+    @GetMapping("/cohorts")
+    public ResponseEntity<?> getCohorts(
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "12") int periods,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(defaultValue = "signup") String cohortBy) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            if (!granularity.equals("day") && !granularity.equals("week")) {
+                throw new RuntimeException("granularity must be day or week");
+            }
+            if (!cohortBy.equals("signup") && !cohortBy.equals("firstOrder")) {
+                throw new RuntimeException("cohortBy must be signup or firstOrder");
+            }
+            return ResponseEntity.ok(customerCohorts.cohorts(granularity.equals("week"), from, to, periods,
+                    restaurantId, cohortBy.equals("firstOrder")));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.tastetrack.controller;
 import com.tastetrack.entity.User;
 import com.tastetrack.entity.Restaurant;
 import com.tastetrack.entity.MenuItem;
+import com.tastetrack.event.CatalogChangeEvent;
 import com.tastetrack.repository.UserRepository;
 import com.tastetrack.repository.RestaurantRepository;
 import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.service.VendorContextService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -38,6 +41,12 @@ public class AdminSetupController {
 
     @Autowired
     private EntityManager entityManager;
+
+    @Autowired
+    private VendorContextService vendorContextService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @GetMapping("/create-admin")
     public ResponseEntity<Map<String, String>> createAdmin() {
@@ -145,6 +154,9 @@ public class AdminSetupController {
             italian.setImage("https://images.unsplash.com/photo-1590004953392-5aba7ae2978e?w=800&h=600&fit=crop");
             italian.setAddress("123 Pasta Lane, Rome");
             italian.setIsOpen(true);
+            italian.setLatitude(41.9028);
+            italian.setLongitude(12.4964);
+            italian.setDeliveryRadiusKm(8.0);
             restaurants.add(italian);
 
             Restaurant japanese = new Restaurant();
@@ -156,6 +168,9 @@ public class AdminSetupController {
             japanese.setImage("https://images.unsplash.com/photo-1553621042-f6e147245754?w=800&h=600&fit=crop");
             japanese.setAddress("456 Cherry Blossom Ave, Kyoto");
             japanese.setIsOpen(true);
+            japanese.setLatitude(35.0116);
+            japanese.setLongitude(135.7681);
+            japanese.setDeliveryRadiusKm(8.0);
             restaurants.add(japanese);
 
             Restaurant american = new Restaurant();
@@ -167,6 +182,9 @@ public class AdminSetupController {
             american.setImage("https://images.unsplash.com/photo-1606755962773-d324e0a13086?w=800&h=600&fit=crop");
             american.setAddress("789 Freedom St, New York");
             american.setIsOpen(true);
+            american.setLatitude(40.7128);
+            american.setLongitude(-74.006);
+            american.setDeliveryRadiusKm(8.0);
             restaurants.add(american);
 
             Restaurant healthy = new Restaurant();
@@ -178,6 +196,9 @@ public class AdminSetupController {
             healthy.setImage("https://images.unsplash.com/photo-1498837167922-ddd27525d352?w=800&h=600&fit=crop");
             healthy.setAddress("321 Wellness Rd, California");
             healthy.setIsOpen(true);
+            healthy.setLatitude(34.0522);
+            healthy.setLongitude(-118.2437);
+            healthy.setDeliveryRadiusKm(8.0);
             restaurants.add(healthy);
 
             Restaurant mexican = new Restaurant();
@@ -189,6 +210,9 @@ public class AdminSetupController {
             mexican.setImage("https://images.unsplash.com/photo-1552332386-f8dd00dc2f85?w=800&h=600&fit=crop");
             mexican.setAddress("567 Sombrero Blvd, Mexico City");
             mexican.setIsOpen(true);
+            mexican.setLatitude(19.4326);
+            mexican.setLongitude(-99.1332);
+            mexican.setDeliveryRadiusKm(8.0);
             restaurants.add(mexican);
 
             Restaurant thai = new Restaurant();
@@ -200,6 +224,9 @@ public class AdminSetupController {
             thai.setImage("https://images.unsplash.com/photo-1626736198443-b4b9b47a4d69?w=800&h=600&fit=crop");
             thai.setAddress("890 Elephant St, Bangkok");
             thai.setIsOpen(true);
+            thai.setLatitude(13.7563);
+            thai.setLongitude(100.5018);
+            thai.setDeliveryRadiusKm(8.0);
             restaurants.add(thai);
 
             Restaurant indian = new Restaurant();
@@ -211,6 +238,9 @@ public class AdminSetupController {
             indian.setImage("https://images.unsplash.com/photo-1589301773859-34462d1743e8?w=800&h=600&fit=crop");
             indian.setAddress("234 Taj Mahal Lane, Mumbai");
             indian.setIsOpen(true);
+            indian.setLatitude(19.076);
+            indian.setLongitude(72.8777);
+            indian.setDeliveryRadiusKm(8.0);
             restaurants.add(indian);
 
             Restaurant bbq = new Restaurant();
@@ -222,6 +252,9 @@ public class AdminSetupController {
             bbq.setImage("https://images.unsplash.com/photo-1529193591184-b1d58069ecdd?w=800&h=600&fit=crop");
             bbq.setAddress("456 Smokey Ave, Texas");
             bbq.setIsOpen(true);
+            bbq.setLatitude(30.2672);
+            bbq.setLongitude(-97.7431);
+            bbq.setDeliveryRadiusKm(8.0);
             restaurants.add(bbq);
 
             Restaurant vietnamese = new Restaurant();
@@ -233,6 +266,9 @@ public class AdminSetupController {
             vietnamese.setImage("https://images.unsplash.com/photo-1585109649234-3968e7a4a5f2?w=800&h=600&fit=crop");
             vietnamese.setAddress("101 Pho St, Ho Chi Minh");
             vietnamese.setIsOpen(true);
+            vietnamese.setLatitude(10.8231);
+            vietnamese.setLongitude(106.6297);
+            vietnamese.setDeliveryRadiusKm(8.0);
             restaurants.add(vietnamese);
 
             Restaurant greek = new Restaurant();
@@ -244,6 +280,9 @@ public class AdminSetupController {
             greek.setImage("https://images.unsplash.com/photo-1505253716362-af78986b5b97?w=800&h=600&fit=crop");
             greek.setAddress("202 Parthenon Rd, Athens");
             greek.setIsOpen(true);
+            greek.setLatitude(37.9838);
+            greek.setLongitude(23.7275);
+            greek.setDeliveryRadiusKm(8.0);
             restaurants.add(greek);
 
             Restaurant korean = new Restaurant();
@@ -255,6 +294,9 @@ public class AdminSetupController {
             korean.setImage("https://images.unsplash.com/photo-1567110453382-e0b5a734da52?w=800&h=600&fit=crop");
             korean.setAddress("303 Kimchi Ave, Seoul");
             korean.setIsOpen(true);
+            korean.setLatitude(37.5665);
+            korean.setLongitude(126.978);
+            korean.setDeliveryRadiusKm(8.0);
             restaurants.add(korean);
 
             Restaurant french = new Restaurant();
@@ -266,6 +308,9 @@ public class AdminSetupController {
             french.setImage("https://images.unsplash.com/photo-1559348331-6f21729922d1?w=800&h=600&fit=crop");
             french.setAddress("404 Eiffel Tower Rd, Paris");
             french.setIsOpen(true);
+            french.setLatitude(48.8566);
+            french.setLongitude(2.3522);
+            french.setDeliveryRadiusKm(8.0);
             restaurants.add(french);
 
             // Save restaurants
@@ -377,6 +422,10 @@ public class AdminSetupController {
             // Save all menu items
             menuItemRepository.saveAll(menuItems);
 
+            // Every restaurant was recreated, so cached vendor-to-restaurant mappings are stale
+            vendorContextService.evictAll();
+            eventPublisher.publishEvent(CatalogChangeEvent.catalogReloaded());
+
             response.put("success", true);
             response.put("message", "Menu data refreshed successfully");
             response.put("restaurantsCreated", restaurants.size());
@@ -0,0 +1,24 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.dto.AutocompleteSuggestion;
+import com.tastetrack.search.AutocompleteIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@CrossOrigin(origins = "*")
+public class AutocompleteController {
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @GetMapping
+    public ResponseEntity<List<AutocompleteSuggestion>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(autocompleteIndex.suggest(prefix, limit));
+    }
+}
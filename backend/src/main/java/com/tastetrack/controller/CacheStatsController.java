@@ -0,0 +1,69 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.security.SecurityUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "*")
+public class CacheStatsController {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Admin endpoint - Hit and miss counts for the Hibernate second-level and query caches
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("secondLevelCache", counts(
+                    statistics.getSecondLevelCacheHitCount(),
+                    statistics.getSecondLevelCacheMissCount(),
+                    statistics.getSecondLevelCachePutCount()));
+            result.put("queryCache", counts(
+                    statistics.getQueryCacheHitCount(),
+                    statistics.getQueryCacheMissCount(),
+                    statistics.getQueryCachePutCount()));
+
+            Map<String, Object> regions = new LinkedHashMap<>();
+            for (String region : new String[]{Restaurant.class.getName(), MenuItem.class.getName()}) {
+                CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                if (regionStatistics != null) {
+                    regions.put(region, counts(
+                            regionStatistics.getHitCount(),
+                            regionStatistics.getMissCount(),
+                            regionStatistics.getPutCount()));
+                }
+            }
+            result.put("regions", regions);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> counts(long hits, long misses, long puts) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        long lookups = hits + misses;
+        counts.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return counts;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.dto.CatalogChanges;
+import com.tastetrack.service.CatalogChangeLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/catalog")
+@CrossOrigin(origins = "*")
+public class CatalogController {
+    @Autowired
+    private CatalogChangeLog catalogChangeLog;
+
+    /**
+     * Restaurants and menu items changed after a version returned by an earlier call;
+     * without since, just the version to take before loading the full catalog
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChanges> getChanges(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(catalogChangeLog.getChanges(since));
+    }
+}
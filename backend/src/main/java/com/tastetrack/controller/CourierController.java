@@ -0,0 +1,143 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.dispatch.DispatchService;
+import com.tastetrack.dto.LocationPing;
+import com.tastetrack.entity.Courier;
+import com.tastetrack.repository.CourierRepository;
+import com.tastetrack.security.SecurityUtil;
+import com.tastetrack.tracking.CourierLocationStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/couriers")
+@CrossOrigin(origins = "*")
+public class CourierController {
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private CourierLocationStore locationStore;
+
+    /**
+     * Admin endpoint - List couriers
+     */
+    @GetMapping
+    public ResponseEntity<?> getCouriers() {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+            return ResponseEntity.ok(courierRepository.findAll());
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Admin endpoint - Register a courier in a delivery zone
+     */
+    @PostMapping
+    public ResponseEntity<?> createCourier(@RequestBody Courier courier) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            if (courier.getName() == null || courier.getName().isBlank()) {
+                throw new RuntimeException("Courier name is required");
+            }
+            courier.setId(null);
+            return ResponseEntity.ok(dispatchService.saveCourier(courier));
+        } catch (Exception e) {
+            return badRequest(e);
+        }
+    }
+
+    /**
+     * Admin endpoint - Put a courier on or off shift
+     */
+    @PutMapping("/{id}/active")
+    public ResponseEntity<?> setCourierActive(@PathVariable Long id, @RequestBody Map<String, Boolean> update) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            Boolean active = update.get("active");
+            if (active == null) {
+                throw new RuntimeException("active is required");
+            }
+            return ResponseEntity.ok(dispatchService.setCourierActive(id, active));
+        } catch (Exception e) {
+            return badRequest(e);
+        }
+    }
+
+    /**
+     * Admin endpoint - Issue a new device token for a courier's app
+     */
+    @PostMapping("/{id}/token")
+    public ResponseEntity<?> issueDeviceToken(@PathVariable Long id) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            return ResponseEntity.ok(Map.of("courierId", id, "deviceToken", locationStore.issueDeviceToken(id)));
+        } catch (Exception e) {
+            return badRequest(e);
+        }
+    }
+
+    /**
+     * Admin endpoint - Location ingestion counters
+     */
+    @GetMapping("/tracking/stats")
+    public ResponseEntity<?> getTrackingStats() {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+            return ResponseEntity.ok(locationStore.stats());
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Location ping from a courier's device, authenticated by its device token
+     */
+    @PostMapping("/{id}/location")
+    public ResponseEntity<?> reportLocation(@PathVariable Long id,
+                                            @RequestHeader(value = "X-Courier-Token", required = false) String deviceToken,
+                                            @RequestBody LocationPing ping) {
+        try {
+            locationStore.authenticate(id, deviceToken);
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            if (ping.getLatitude() == null || ping.getLongitude() == null) {
+                throw new RuntimeException("latitude and longitude are required");
+            }
+            locationStore.record(id, ping.getLatitude(), ping.getLongitude(), ping.getRecordedAt());
+            return ResponseEntity.accepted().build();
+        } catch (Exception e) {
+            return badRequest(e);
+        }
+    }
+
+    private ResponseEntity<?> badRequest(Exception e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tastetrack.controller;
+
+import com.tastetrack.dispatch.DispatchService;
+import com.tastetrack.dispatch.DispatchSimulator;
+import com.tastetrack.security.SecurityUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/dispatch")
+@CrossOrigin(origins = "*")
+public class DispatchController {
+    @Autowired
+    private DispatchService dispatchService;
+
+    /**
+     * Admin endpoint - Queue lengths, idle couriers and assignment latency per zone
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getDispatchStats() {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+            return ResponseEntity.ok(dispatchService.stats());
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Admin endpoint - Run the matcher against synthetic load and report assignment latency
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simulate(
+            @RequestParam(defaultValue = "20000") int orders,
+            @RequestParam(defaultValue = "6000") int couriers,
+            @RequestParam(defaultValue = "20") int zones,
+            @RequestParam(defaultValue = "200") int ordersPerMinute,
+            @RequestParam(defaultValue = "1000") long tickMillis,
+            @RequestParam(defaultValue = "42") long seed) {
+        try {
+            SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        } catch (Exception e) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        try {
+            if (orders > 1_000_000) {
+                throw new RuntimeException("At most 1000000 orders per simulation");
+            }
+            return ResponseEntity.ok(DispatchSimulator.run(orders, couriers, zones, ordersPerMinute, tickMillis, seed));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.tastetrack.controller;
 
 import com.tastetrack.entity.MenuItem;
+import com.tastetrack.search.MenuItemSearchIndex;
+import com.tastetrack.service.CatalogSnapshot;
+import com.tastetrack.service.CatalogSnapshotService;
 import com.tastetrack.service.MenuItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,9 +19,19 @@ public class MenuItemController {
     @Autowired
     private MenuItemService menuItemService;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private MenuItemSearchIndex menuItemSearchIndex;
+
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<MenuItem>> getMenuItemsByRestaurant(@PathVariable Long restaurantId) {
-        return ResponseEntity.ok(menuItemService.getMenuItemsByRestaurant(restaurantId));
+    public ResponseEntity<byte[]> getMenuItemsByRestaurant(@PathVariable Long restaurantId, WebRequest request) {
+        CatalogSnapshot snapshot = catalogSnapshotService.menu(restaurantId);
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return snapshot.toResponse();
     }
 
     @GetMapping("/restaurant/{restaurantId}/category/{category}")
@@ -27,6 +41,15 @@ public class MenuItemController {
         return ResponseEntity.ok(menuItemService.getMenuItemsByRestaurantAndCategory(restaurantId, category));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<MenuItem>> searchMenuItems(
+            @RequestParam String q,
+            @RequestParam(required = false) Boolean veg,
+            @RequestParam(defaultValue = "false") boolean openOnly,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(menuItemSearchIndex.search(q, veg, openOnly, Math.min(limit, 100)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
         return menuItemService.getMenuItemById(id)
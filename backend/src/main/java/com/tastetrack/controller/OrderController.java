@@ -1,11 +1,22 @@
 package com.tastetrack.controller;
 
+import com.tastetrack.dispatch.DispatchService;
+import com.tastetrack.dto.OrderCourierLocation;
+import com.tastetrack.dto.OrderPage;
 import com.tastetrack.dto.OrderRequest;
+import com.tastetrack.dto.OrderView;
 import com.tastetrack.entity.Order;
+import com.tastetrack.security.AuthenticatedUser;
+import com.tastetrack.security.SecurityUtil;
 import com.tastetrack.service.OrderService;
+import com.tastetrack.stream.OrderEventHub;
+import com.tastetrack.tracking.CourierLocationStore;
+import com.tastetrack.tracking.LocationSample;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -13,52 +24,94 @@ import java.util.List;
 @RequestMapping("/api/orders")
 @CrossOrigin(origins = "*")
 public class OrderController {
+    private static final int COURIER_PATH_POINTS = 20;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private CourierLocationStore locationStore;
+
+    @Autowired
+    private OrderEventHub orderEventHub;
+
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody OrderRequest request) {
-        // In real app, get userId from JWT token
-        Long userId = 1L; // Mock userId
-        return ResponseEntity.ok(orderService.createOrder(userId, request));
+    public ResponseEntity<OrderView> createOrder(@RequestBody OrderRequest request) {
+        Long userId = currentUserId();
+        // The new order is fully in memory, so this runs no query
+        return ResponseEntity.ok(OrderView.from(orderService.createOrder(userId, request)));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrdersById(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getUserOrders(userId));
+    public ResponseEntity<OrderPage> getUserOrdersById(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(orderService.getUserOrders(userId, cursor, limit));
     }
 
+    /**
+     * The current user's orders, newest first, a page at a time
+     */
     @GetMapping("/user")
-    public ResponseEntity<List<Order>> getUserOrders() {
-        // In real app, get userId from JWT token
-        Long userId = 1L; // Mock userId
-        return ResponseEntity.ok(orderService.getUserOrders(userId));
+    public ResponseEntity<OrderPage> getUserOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        Long userId = currentUserId();
+        return ResponseEntity.ok(orderService.getUserOrders(userId, cursor, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<OrderView> getOrderById(@PathVariable Long id) {
         return orderService.getOrderById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/order-number/{orderNumber}")
-    public ResponseEntity<Order> getOrderByOrderNumber(@PathVariable String orderNumber) {
+    public ResponseEntity<OrderView> getOrderByOrderNumber(@PathVariable String orderNumber) {
         return orderService.getOrderByOrderNumber(orderNumber)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Live position of the courier carrying an order, served from memory.
+     * No content until a courier is assigned and has reported a location.
+     */
+    @GetMapping("/{id}/courier-location")
+    public ResponseEntity<OrderCourierLocation> getCourierLocation(@PathVariable Long id) {
+        Long courierId = dispatchService.courierFor(id);
+        LocationSample latest = courierId == null ? null : locationStore.latest(courierId);
+        if (latest == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(new OrderCourierLocation(courierId, latest.latitude(), latest.longitude(),
+                latest.recordedAt(), locationStore.path(courierId, COURIER_PATH_POINTS)));
+    }
+
+    /**
+     * Server-Sent Events stream of status and estimated delivery changes for an order
+     */
+    @GetMapping(value = "/{orderNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@PathVariable String orderNumber) {
+        return orderEventHub.subscribe(orderNumber);
+    }
+
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable String status) {
+    public ResponseEntity<List<OrderView>> getOrdersByStatus(@PathVariable String status) {
         return ResponseEntity.ok(orderService.getOrdersByStatus(Order.OrderStatus.valueOf(status.toUpperCase())));
     }
 
     @PutMapping("/{id}/status/{status}")
-    public ResponseEntity<Order> updateOrderStatus(
+    public ResponseEntity<OrderView> updateOrderStatus(
             @PathVariable Long id,
             @PathVariable String status) {
-        return ResponseEntity.ok(orderService.updateOrderStatus(id, Order.OrderStatus.valueOf(status.toUpperCase())));
+        orderService.updateOrderStatus(id, Order.OrderStatus.valueOf(status.toUpperCase()));
+        return ResponseEntity.of(orderService.getOrderById(id));
     }
 
     @PutMapping("/{id}/cancel")
@@ -72,4 +125,13 @@ public class OrderController {
         orderService.cancelOrder(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Id of the authenticated customer, falling back to the demo user for anonymous checkout
+     */
+    private Long currentUserId() {
+        return SecurityUtil.currentUser()
+                .map(AuthenticatedUser::getUserId)
+                .orElse(1L);
+    }
 }
@@ -3,8 +3,9 @@ package com.tastetrack.controller;
 import com.tastetrack.dto.ApplicationActionRequest;
 import com.tastetrack.dto.RestaurantApplicationRequest;
 import com.tastetrack.dto.RestaurantApplicationResponse;
+import com.tastetrack.security.AuthenticatedUser;
+import com.tastetrack.security.SecurityUtil;
 import com.tastetrack.service.RestaurantApplicationService;
-import com.tastetrack.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,9 +22,6 @@ public class RestaurantApplicationController {
     @Autowired
     private RestaurantApplicationService applicationService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     /**
      * Public endpoint - Anyone can submit a restaurant application
      */
@@ -48,9 +46,9 @@ public class RestaurantApplicationController {
      * Admin endpoint - Get all applications
      */
     @GetMapping("/admin/applications")
-    public ResponseEntity<?> getAllApplications(@RequestHeader(value = "Authorization", required = false) String token) {
+    public ResponseEntity<?> getAllApplications() {
         try {
-            validateAdminToken(token);
+            currentAdminEmail();
             List<RestaurantApplicationResponse> applications = applicationService.getAllApplications();
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
@@ -62,9 +60,9 @@ public class RestaurantApplicationController {
      * Admin endpoint - Get pending applications
      */
     @GetMapping("/admin/applications/pending")
-    public ResponseEntity<?> getPendingApplications(@RequestHeader(value = "Authorization", required = false) String token) {
+    public ResponseEntity<?> getPendingApplications() {
         try {
-            validateAdminToken(token);
+            currentAdminEmail();
             List<RestaurantApplicationResponse> applications = applicationService.getPendingApplications();
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
@@ -77,10 +75,9 @@ public class RestaurantApplicationController {
      */
     @GetMapping("/admin/applications/{id}")
     public ResponseEntity<?> getApplicationById(
-            @PathVariable Long id,
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @PathVariable Long id) {
         try {
-            validateAdminToken(token);
+            currentAdminEmail();
             RestaurantApplicationResponse application = applicationService.getApplicationById(id);
             return ResponseEntity.ok(application);
         } catch (Exception e) {
@@ -93,13 +90,11 @@ public class RestaurantApplicationController {
      */
     @PostMapping("/admin/applications/{id}/approve")
     public ResponseEntity<?> approveApplication(
-            @PathVariable Long id,
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @PathVariable Long id) {
         System.out.println("=== APPROVE APPLICATION REQUEST ===");
         System.out.println("Application ID: " + id);
-        System.out.println("Authorization header received: " + (token != null ? "YES" : "NO"));
         try {
-            String email = validateAdminToken(token);
+            String email = currentAdminEmail();
             System.out.println("Admin email validated: " + email);
             RestaurantApplicationResponse response = applicationService.approveApplication(id, email);
             Map<String, Object> result = new HashMap<>();
@@ -124,10 +119,9 @@ public class RestaurantApplicationController {
     @PostMapping("/admin/applications/{id}/reject")
     public ResponseEntity<?> rejectApplication(
             @PathVariable Long id,
-            @RequestBody ApplicationActionRequest request,
-            @RequestHeader(value = "Authorization", required = false) String token) {
+            @RequestBody ApplicationActionRequest request) {
         try {
-            String email = validateAdminToken(token);
+            String email = currentAdminEmail();
             RestaurantApplicationResponse response = applicationService.rejectApplication(id, email, request);
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
@@ -142,35 +136,9 @@ public class RestaurantApplicationController {
         }
     }
 
-    private String validateAdminToken(String authHeader) {
-        try {
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                System.out.println("Invalid authorization header: " + authHeader);
-                throw new RuntimeException("Invalid authorization header");
-            }
-            
-            String token = authHeader.substring(7);
-            System.out.println("Extracted token: " + token.substring(0, Math.min(20, token.length())) + "...");
-            
-            if (!jwtUtil.validateToken(token)) {
-                System.out.println("Token validation failed");
-                throw new RuntimeException("Invalid or expired token");
-            }
-            
-            String email = jwtUtil.getEmailFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
-            
-            System.out.println("Token validated - Email: " + email + ", Role: " + role);
-            
-            if (!"ADMIN".equals(role)) {
-                System.out.println("Access denied - Role is not ADMIN: " + role);
-                throw new RuntimeException("Access denied. Admin privileges required.");
-            }
-            
-            return email;
-        } catch (Exception e) {
-            System.out.println("Token validation error: " + e.getMessage());
-            throw new RuntimeException(e.getMessage());
-        }
+    private String currentAdminEmail() {
+        AuthenticatedUser admin = SecurityUtil.requireRole("ADMIN", "Access denied. Admin privileges required.");
+        System.out.println("Token validated - Email: " + admin.getEmail() + ", Role: " + admin.getRole());
+        return admin.getEmail();
     }
 }
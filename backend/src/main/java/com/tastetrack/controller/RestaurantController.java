@@ -1,10 +1,18 @@
 package com.tastetrack.controller;
 
+import com.tastetrack.dto.NearbyRestaurant;
+import com.tastetrack.dto.RestaurantFilterRequest;
+import com.tastetrack.dto.RestaurantFilterResponse;
 import com.tastetrack.entity.Restaurant;
+import com.tastetrack.search.RestaurantFacetIndex;
+import com.tastetrack.search.RestaurantGeoIndex;
+import com.tastetrack.service.CatalogSnapshot;
+import com.tastetrack.service.CatalogSnapshotService;
 import com.tastetrack.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,14 +23,31 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private RestaurantFacetIndex restaurantFacetIndex;
+
+    @Autowired
+    private RestaurantGeoIndex restaurantGeoIndex;
+
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        return ResponseEntity.ok(restaurantService.getAllRestaurants());
+    public ResponseEntity<byte[]> getAllRestaurants(WebRequest request) {
+        CatalogSnapshot snapshot = catalogSnapshotService.allRestaurants();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return snapshot.toResponse();
     }
 
     @GetMapping("/open")
-    public ResponseEntity<List<Restaurant>> getOpenRestaurants() {
-        return ResponseEntity.ok(restaurantService.getOpenRestaurants());
+    public ResponseEntity<byte[]> getOpenRestaurants(WebRequest request) {
+        CatalogSnapshot snapshot = catalogSnapshotService.openRestaurants();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return snapshot.toResponse();
     }
 
     @GetMapping("/{id}")
@@ -37,6 +62,22 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.searchRestaurants(q));
     }
 
+    @GetMapping("/filter")
+    public ResponseEntity<RestaurantFilterResponse> filterRestaurants(RestaurantFilterRequest filter) {
+        return ResponseEntity.ok(restaurantFacetIndex.filter(filter));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurant>> getNearbyRestaurants(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        return ResponseEntity.ok(restaurantGeoIndex.nearby(lat, lng, Math.max(0, Math.min(limit, 100))));
+    }
+
     @PostMapping
     public ResponseEntity<Restaurant> createRestaurant(@RequestBody Restaurant restaurant) {
         return ResponseEntity.ok(restaurantService.createRestaurant(restaurant));
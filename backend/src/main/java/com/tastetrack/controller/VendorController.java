@@ -4,14 +4,21 @@ import com.tastetrack.entity.MenuItem;
 import com.tastetrack.entity.Order;
 import com.tastetrack.entity.Restaurant;
 import com.tastetrack.entity.User;
+import com.tastetrack.event.CatalogChangeEvent;
 import com.tastetrack.repository.MenuItemRepository;
-import com.tastetrack.repository.OrderRepository;
 import com.tastetrack.repository.RestaurantRepository;
 import com.tastetrack.repository.UserRepository;
-import com.tastetrack.util.JwtUtil;
+import com.tastetrack.security.SecurityUtil;
+import com.tastetrack.service.OrderService;
+import com.tastetrack.service.VendorContext;
+import com.tastetrack.service.VendorContextService;
+import com.tastetrack.stream.VendorOrderFeed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -22,9 +29,6 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class VendorController {
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @Autowired
     private UserRepository userRepository;
 
@@ -35,19 +39,25 @@ public class VendorController {
     private MenuItemRepository menuItemRepository;
 
     @Autowired
-    private OrderRepository orderRepository;
+    private VendorContextService vendorContextService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private VendorOrderFeed vendorOrderFeed;
 
     /**
      * Get the vendor's restaurant details
      */
     @GetMapping("/restaurant")
-    public ResponseEntity<?> getVendorRestaurant(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getVendorRestaurant() {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
+            VendorContext vendor = currentVendor();
+            Restaurant restaurant = restaurantRepository.findById(vendor.getRestaurantId())
                     .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
 
             return ResponseEntity.ok(restaurant);
@@ -63,16 +73,11 @@ public class VendorController {
      * Get all menu items for the vendor's restaurant
      */
     @GetMapping("/menu-items")
-    public ResponseEntity<?> getVendorMenuItems(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getVendorMenuItems() {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
+            VendorContext vendor = currentVendor();
 
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
-
-            List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(restaurant.getId());
+            List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(vendor.getRestaurantId());
             return ResponseEntity.ok(menuItems);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
@@ -87,18 +92,13 @@ public class VendorController {
      */
     @PostMapping("/menu-items")
     public ResponseEntity<?> createMenuItem(
-            @RequestHeader("Authorization") String authHeader,
             @RequestBody MenuItem menuItem) {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
+            VendorContext vendor = currentVendor();
 
-            menuItem.setRestaurant(restaurant);
+            menuItem.setRestaurant(restaurantRepository.getReferenceById(vendor.getRestaurantId()));
             MenuItem savedItem = menuItemRepository.save(menuItem);
+            eventPublisher.publishEvent(CatalogChangeEvent.menuItemSaved(vendor.getRestaurantId(), savedItem.getId()));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -118,22 +118,16 @@ public class VendorController {
      */
     @PutMapping("/menu-items/{id}")
     public ResponseEntity<?> updateMenuItem(
-            @RequestHeader("Authorization") String authHeader,
             @PathVariable Long id,
             @RequestBody MenuItem menuItemUpdate) {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
+            VendorContext vendor = currentVendor();
 
             MenuItem existingItem = menuItemRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
             // Verify the menu item belongs to this vendor's restaurant
-            if (!existingItem.getRestaurant().getId().equals(restaurant.getId())) {
+            if (!existingItem.getRestaurant().getId().equals(vendor.getRestaurantId())) {
                 throw new RuntimeException("Unauthorized: This menu item does not belong to your restaurant");
             }
 
@@ -147,6 +141,7 @@ public class VendorController {
             existingItem.setRating(menuItemUpdate.getRating());
 
             MenuItem updatedItem = menuItemRepository.save(existingItem);
+            eventPublisher.publishEvent(CatalogChangeEvent.menuItemSaved(vendor.getRestaurantId(), id));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -166,25 +161,20 @@ public class VendorController {
      */
     @DeleteMapping("/menu-items/{id}")
     public ResponseEntity<?> deleteMenuItem(
-            @RequestHeader("Authorization") String authHeader,
             @PathVariable Long id) {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
+            VendorContext vendor = currentVendor();
 
             MenuItem menuItem = menuItemRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
             // Verify the menu item belongs to this vendor's restaurant
-            if (!menuItem.getRestaurant().getId().equals(restaurant.getId())) {
+            if (!menuItem.getRestaurant().getId().equals(vendor.getRestaurantId())) {
                 throw new RuntimeException("Unauthorized: This menu item does not belong to your restaurant");
             }
 
             menuItemRepository.delete(menuItem);
+            eventPublisher.publishEvent(CatalogChangeEvent.menuItemDeleted(vendor.getRestaurantId(), id));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -202,17 +192,28 @@ public class VendorController {
      * Get all orders for the vendor's restaurant
      */
     @GetMapping("/orders")
-    public ResponseEntity<?> getVendorOrders(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getVendorOrders() {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
+            VendorContext vendor = currentVendor();
 
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
+            return ResponseEntity.ok(orderService.getRestaurantOrders(vendor.getRestaurantId()));
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-            List<Order> orders = orderRepository.findByRestaurantIdOrderByOrderDateDesc(restaurant.getId());
-            return ResponseEntity.ok(orders);
+    /**
+     * Orders of the vendor's restaurant changed after a version returned by an earlier call;
+     * without since, just the version to start syncing from
+     */
+    @GetMapping("/orders/changes")
+    public ResponseEntity<?> getVendorOrderChanges(@RequestParam(required = false) Long since) {
+        try {
+            VendorContext vendor = currentVendor();
+            return ResponseEntity.ok(orderService.getRestaurantOrderChanges(vendor.getRestaurantId(), since));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -221,42 +222,44 @@ public class VendorController {
         }
     }
 
+    /**
+     * Server-Sent Events stream of new orders and status changes for the vendor's restaurant
+     */
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamVendorOrders() {
+        VendorContext vendor;
+        try {
+            vendor = currentVendor();
+        } catch (Exception e) {
+            // EventSource cannot read an error body, only the status
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(vendorOrderFeed.subscribe(vendor.getRestaurantId()));
+    }
+
     /**
      * Update order status
      */
     @PutMapping("/orders/{orderId}/status")
     public ResponseEntity<?> updateOrderStatus(
-            @RequestHeader("Authorization") String authHeader,
             @PathVariable Long orderId,
             @RequestBody Map<String, String> statusUpdate) {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
-
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new RuntimeException("Order not found"));
-
-            // Verify the order belongs to this vendor's restaurant
-            if (!order.getRestaurant().getId().equals(restaurant.getId())) {
-                throw new RuntimeException("Unauthorized: This order does not belong to your restaurant");
-            }
+            VendorContext vendor = currentVendor();
 
             String newStatus = statusUpdate.get("status");
             if (newStatus == null || newStatus.isEmpty()) {
                 throw new RuntimeException("Status is required");
             }
 
-            order.setStatus(Order.OrderStatus.valueOf(newStatus));
-            Order updatedOrder = orderRepository.save(order);
+            // Also checks that the order belongs to this vendor's restaurant
+            orderService.updateOrderStatusForRestaurant(
+                    orderId, vendor.getRestaurantId(), Order.OrderStatus.valueOf(newStatus));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Order status updated successfully");
-            response.put("order", updatedOrder);
+            response.put("order", orderService.getOrderById(orderId).orElse(null));
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
@@ -276,14 +279,10 @@ public class VendorController {
      */
     @PutMapping("/restaurant")
     public ResponseEntity<?> updateRestaurant(
-            @RequestHeader("Authorization") String authHeader,
             @RequestBody Restaurant restaurantUpdate) {
         try {
-            String email = validateVendorToken(authHeader);
-            User vendor = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Vendor not found"));
-
-            Restaurant restaurant = restaurantRepository.findByOwner(vendor)
+            VendorContext vendor = currentVendor();
+            Restaurant restaurant = restaurantRepository.findById(vendor.getRestaurantId())
                     .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
 
             // Update allowed fields
@@ -294,8 +293,12 @@ public class VendorController {
             restaurant.setMinOrder(restaurantUpdate.getMinOrder());
             restaurant.setImage(restaurantUpdate.getImage());
             restaurant.setIsOpen(restaurantUpdate.getIsOpen());
+            restaurant.setLatitude(restaurantUpdate.getLatitude());
+            restaurant.setLongitude(restaurantUpdate.getLongitude());
+            restaurant.setDeliveryRadiusKm(restaurantUpdate.getDeliveryRadiusKm());
 
             Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+            eventPublisher.publishEvent(CatalogChangeEvent.restaurantSaved(updatedRestaurant.getId()));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -315,18 +318,9 @@ public class VendorController {
      */
     @PostMapping("/admin/create-restaurant-for-vendor")
     public ResponseEntity<?> createRestaurantForVendor(
-            @RequestHeader("Authorization") String authHeader,
             @RequestBody Map<String, Object> request) {
         try {
-            // Validate admin token
-            String token = authHeader.substring(7);
-            if (!jwtUtil.validateToken(token)) {
-                throw new RuntimeException("Invalid or expired token");
-            }
-            String role = jwtUtil.getRoleFromToken(token);
-            if (!"ADMIN".equals(role)) {
-                throw new RuntimeException("Admin privileges required");
-            }
+            SecurityUtil.requireRole("ADMIN", "Admin privileges required");
 
             String vendorEmail = (String) request.get("vendorEmail");
             String restaurantName = (String) request.get("restaurantName");
@@ -356,6 +350,8 @@ public class VendorController {
             restaurant.setOwner(vendor);
 
             restaurant = restaurantRepository.save(restaurant);
+            vendorContextService.evictVendor(vendorEmail);
+            eventPublisher.publishEvent(CatalogChangeEvent.restaurantSaved(restaurant.getId()));
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -371,26 +367,10 @@ public class VendorController {
     }
 
     /**
-     * Validate vendor token and return email
+     * Resolve the vendor and restaurant ids of the authenticated vendor
      */
-    private String validateVendorToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Invalid authorization header");
-        }
-
-        String token = authHeader.substring(7);
-
-        if (!jwtUtil.validateToken(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-
-        String email = jwtUtil.getEmailFromToken(token);
-        String role = jwtUtil.getRoleFromToken(token);
-
-        if (!"VENDOR".equals(role)) {
-            throw new RuntimeException("Access denied. Vendor privileges required.");
-        }
-
-        return email;
+    private VendorContext currentVendor() {
+        String email = SecurityUtil.requireRole("VENDOR", "Access denied. Vendor privileges required.").getEmail();
+        return vendorContextService.resolve(email);
     }
 }
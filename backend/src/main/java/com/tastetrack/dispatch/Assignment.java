@@ -0,0 +1,9 @@
+package com.tastetrack.dispatch;
+
+import java.util.List;
+
+/**
+ * One courier given a batch of orders from the same restaurant.
+ */
+public record Assignment(long courierId, List<DispatchOrder> orders, long assignedAt) {
+}
@@ -0,0 +1,311 @@
+package com.tastetrack.dispatch;
+
+import com.tastetrack.search.RestaurantGeoIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory matching of ready orders to idle couriers, sharded by delivery zone.
+ *
+ * Each zone has its own lock guarding its queue of ready orders, its idle couriers and
+ * the state of every courier currently in the zone, so enqueues, courier updates and
+ * matching in different zones never contend. {@link #match(long)} visits the zones one
+ * at a time; within a zone the oldest order is paired with the longest-idle courier,
+ * together with up to MAX_BATCH_SIZE - 1 other queued orders from the same restaurant
+ * whose drop-offs are within BATCH_RADIUS_KM of it.
+ *
+ * The engine knows nothing about persistence or time: callers pass timestamps in and
+ * write the returned assignments themselves, which lets the simulator drive the exact
+ * same code with a synthetic clock.
+ */
+public class DispatchEngine {
+    public static final int DEFAULT_ZONE = 0;
+    static final int MAX_BATCH_SIZE = 3;
+    static final double BATCH_RADIUS_KM = 2.0;
+
+    private final ConcurrentHashMap<Integer, ZoneShard> shards = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CourierState> couriers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> courierByOrder = new ConcurrentHashMap<>();
+    private final LatencyRecorder latency = new LatencyRecorder(4096);
+    private final LongAdder assignedOrders = new LongAdder();
+    private final LongAdder assignedBatches = new LongAdder();
+
+    /**
+     * Queue an order for dispatch. Returns false if it is already queued or assigned.
+     */
+    public boolean enqueue(DispatchOrder order) {
+        ZoneShard shard = shard(order.zone());
+        shard.lock.lock();
+        try {
+            // Checked under the lock: matching in this zone assigns orders while holding it
+            if (courierByOrder.containsKey(order.orderId())) {
+                return false;
+            }
+            return shard.add(order);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drop an order from its queue, or free its courier if it was already assigned.
+     */
+    public void cancel(long orderId, int zone) {
+        ZoneShard shard = shard(zone);
+        shard.lock.lock();
+        try {
+            shard.remove(orderId);
+        } finally {
+            shard.lock.unlock();
+        }
+        release(orderId);
+    }
+
+    /**
+     * The order no longer needs its courier (delivered, cancelled or never written).
+     * The courier becomes idle again once all of its orders are released.
+     */
+    public void release(long orderId) {
+        Long courierId = courierByOrder.remove(orderId);
+        if (courierId == null) {
+            return;
+        }
+        CourierState state = couriers.get(courierId);
+        if (state != null) {
+            withCourierShard(state, shard -> {
+                state.activeOrders.remove(orderId);
+                shard.makeIdleIfFree(state);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Record an assignment that already exists in the database, e.g. after a restart.
+     */
+    public void restoreAssignment(long orderId, long courierId, int courierZone) {
+        CourierState state = couriers.computeIfAbsent(courierId, id -> new CourierState(id, courierZone));
+        courierByOrder.put(orderId, courierId);
+        withCourierShard(state, shard -> {
+            state.activeOrders.add(orderId);
+            shard.idle.remove(courierId);
+            return null;
+        });
+    }
+
+    /**
+     * Create or update a courier. Online couriers without active orders become idle in their zone.
+     */
+    public void updateCourier(long courierId, int zone, boolean online) {
+        CourierState state = couriers.computeIfAbsent(courierId, id -> new CourierState(id, zone));
+        // Leave the old zone first; zone and idle membership only change under the zone's lock
+        withCourierShard(state, shard -> {
+            state.online = online;
+            if (state.zone != zone || !online) {
+                shard.idle.remove(courierId);
+            }
+            state.zone = zone;
+            return null;
+        });
+        withCourierShard(state, shard -> {
+            shard.makeIdleIfFree(state);
+            return null;
+        });
+    }
+
+    /**
+     * Pair queued orders with idle couriers in every zone.
+     */
+    public List<Assignment> match(long now) {
+        List<Assignment> assignments = new ArrayList<>();
+        for (ZoneShard shard : shards.values()) {
+            shard.lock.lock();
+            try {
+                shard.match(now, assignments);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        for (Assignment assignment : assignments) {
+            assignedBatches.increment();
+            for (DispatchOrder order : assignment.orders()) {
+                assignedOrders.increment();
+                latency.record(now - order.readyAt());
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Undo an assignment whose write failed: the courier is freed and its orders queued again.
+     */
+    public void revert(Assignment assignment) {
+        for (DispatchOrder order : assignment.orders()) {
+            release(order.orderId());
+            enqueue(order);
+        }
+    }
+
+    public Long courierFor(long orderId) {
+        return courierByOrder.get(orderId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<Integer, Map<String, Object>> zones = new TreeMap<>();
+        int queued = 0;
+        int idle = 0;
+        for (Map.Entry<Integer, ZoneShard> entry : shards.entrySet()) {
+            ZoneShard shard = entry.getValue();
+            Map<String, Object> zone = new LinkedHashMap<>();
+            shard.lock.lock();
+            try {
+                zone.put("queuedOrders", shard.queue.size());
+                zone.put("idleCouriers", shard.idle.size());
+                queued += shard.queue.size();
+                idle += shard.idle.size();
+            } finally {
+                shard.lock.unlock();
+            }
+            zones.put(entry.getKey(), zone);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queuedOrders", queued);
+        stats.put("idleCouriers", idle);
+        stats.put("activeOrders", courierByOrder.size());
+        stats.put("assignedOrders", assignedOrders.sum());
+        stats.put("assignedBatches", assignedBatches.sum());
+        stats.put("assignmentLatencyMs", latency.summary());
+        stats.put("zones", zones);
+        return stats;
+    }
+
+    private ZoneShard shard(int zone) {
+        return shards.computeIfAbsent(zone, ZoneShard::new);
+    }
+
+    /**
+     * Run action under the lock of the courier's current zone, retrying if the courier
+     * moves zones while we wait for the lock.
+     */
+    private <T> T withCourierShard(CourierState state, Function<ZoneShard, T> action) {
+        while (true) {
+            int zone = state.zone;
+            ZoneShard shard = shard(zone);
+            shard.lock.lock();
+            try {
+                if (state.zone == zone) {
+                    return action.apply(shard);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private static boolean nearby(DispatchOrder first, DispatchOrder other) {
+        if (first.hasLocation() && other.hasLocation()) {
+            return RestaurantGeoIndex.distanceKm(first.latitude(), first.longitude(),
+                    other.latitude(), other.longitude()) <= BATCH_RADIUS_KM;
+        }
+        return first.deliveryZip() != null && first.deliveryZip().equals(other.deliveryZip());
+    }
+
+    private static final class CourierState {
+        private final long id;
+        // Written under the lock of the zone being left; read before locking a zone
+        private volatile int zone;
+        private boolean online;
+        private final Set<Long> activeOrders = new HashSet<>();
+
+        CourierState(long id, int zone) {
+            this.id = id;
+            this.zone = zone;
+        }
+    }
+
+    private final class ZoneShard {
+        private final int zone;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Ready orders, oldest first, plus the same orders grouped by restaurant
+        private final LinkedHashMap<Long, DispatchOrder> queue = new LinkedHashMap<>();
+        private final Map<Long, LinkedHashMap<Long, DispatchOrder>> byRestaurant = new HashMap<>();
+        // Idle couriers, longest idle first
+        private final LinkedHashSet<Long> idle = new LinkedHashSet<>();
+
+        ZoneShard(int zone) {
+            this.zone = zone;
+        }
+
+        boolean add(DispatchOrder order) {
+            if (queue.putIfAbsent(order.orderId(), order) != null) {
+                return false;
+            }
+            byRestaurant.computeIfAbsent(order.restaurantId(), id -> new LinkedHashMap<>()).put(order.orderId(), order);
+            return true;
+        }
+
+        void remove(long orderId) {
+            DispatchOrder order = queue.remove(orderId);
+            if (order != null) {
+                removeFromRestaurant(order);
+            }
+        }
+
+        void makeIdleIfFree(CourierState state) {
+            if (state.online && state.activeOrders.isEmpty() && state.zone == zone) {
+                idle.add(state.id);
+            }
+        }
+
+        void match(long now, List<Assignment> assignments) {
+            while (!queue.isEmpty() && !idle.isEmpty()) {
+                Iterator<Long> idleCouriers = idle.iterator();
+                long courierId = idleCouriers.next();
+                idleCouriers.remove();
+
+                DispatchOrder first = queue.values().iterator().next();
+                List<DispatchOrder> batch = new ArrayList<>(MAX_BATCH_SIZE);
+                batch.add(first);
+                for (DispatchOrder other : byRestaurant.get(first.restaurantId()).values()) {
+                    if (batch.size() == MAX_BATCH_SIZE) {
+                        break;
+                    }
+                    if (other.orderId() != first.orderId() && nearby(first, other)) {
+                        batch.add(other);
+                    }
+                }
+
+                CourierState state = couriers.get(courierId);
+                for (DispatchOrder order : batch) {
+                    queue.remove(order.orderId());
+                    removeFromRestaurant(order);
+                    state.activeOrders.add(order.orderId());
+                    courierByOrder.put(order.orderId(), courierId);
+                }
+                assignments.add(new Assignment(courierId, batch, now));
+            }
+        }
+
+        private void removeFromRestaurant(DispatchOrder order) {
+            LinkedHashMap<Long, DispatchOrder> orders = byRestaurant.get(order.restaurantId());
+            orders.remove(order.orderId());
+            if (orders.isEmpty()) {
+                byRestaurant.remove(order.restaurantId());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.tastetrack.dispatch;
+
+/**
+ * An order waiting for a courier. Coordinates are NaN when the drop-off zip is unknown.
+ */
+public record DispatchOrder(long orderId, long restaurantId, int zone, double latitude, double longitude,
+                            String deliveryZip, long readyAt) {
+
+    boolean hasLocation() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
@@ -0,0 +1,182 @@
+package com.tastetrack.dispatch;
+
+import com.tastetrack.entity.Courier;
+import com.tastetrack.entity.Order;
+import com.tastetrack.event.OrderEvent;
+import com.tastetrack.geo.ZipGazetteer;
+import com.tastetrack.repository.CourierRepository;
+import com.tastetrack.repository.DeliveryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the {@link DispatchEngine} against the database.
+ *
+ * Orders join their zone's queue when the restaurant confirms them, and the queue is
+ * matched every dispatch.interval-ms. All assignments from one pass are written with a
+ * single JDBC batch in one transaction; a row that no longer qualifies (the order was
+ * cancelled in the meantime) simply frees its courier, and a failed write puts the
+ * orders back in the queue. On startup queues and courier workloads are rebuilt from
+ * the orders still in progress.
+ */
+@Service
+public class DispatchService {
+    private static final String ASSIGN_SQL =
+            "UPDATE deliveries SET courier_id = ?, assigned_at = ?, status = 'CONFIRMED' " +
+            "WHERE order_id = ? AND courier_id IS NULL AND status <> 'CANCELLED'";
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private ZipGazetteer zipGazetteer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DispatchEngine engine = new DispatchEngine();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        Map<Long, Courier> couriers = new HashMap<>();
+        for (Courier courier : courierRepository.findAll()) {
+            couriers.put(courier.getId(), courier);
+            engine.updateCourier(courier.getId(), courier.getZone(), false);
+        }
+
+        List<Object[]> rows = deliveryRepository.findDispatchRows(List.of(
+                Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.OUT_FOR_DELIVERY));
+        long now = System.currentTimeMillis();
+        for (Object[] row : rows) {
+            long orderId = (Long) row[0];
+            Long courierId = (Long) row[3];
+            if (courierId != null) {
+                Courier courier = couriers.get(courierId);
+                engine.restoreAssignment(orderId, courierId, courier != null ? courier.getZone() : DispatchEngine.DEFAULT_ZONE);
+            } else if (row[4] != Order.OrderStatus.OUT_FOR_DELIVERY) {
+                engine.enqueue(toDispatchOrder(orderId, (Long) row[1], (String) row[2], now));
+            }
+        }
+
+        for (Courier courier : couriers.values()) {
+            if (Boolean.TRUE.equals(courier.getActive())) {
+                engine.updateCourier(courier.getId(), courier.getZone(), true);
+            }
+        }
+        System.out.println("Dispatch restored with " + couriers.size() + " couriers and " + rows.size() + " open orders");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEvent.Type.STATUS_CHANGED) {
+            return;
+        }
+        switch (event.getStatus()) {
+            case CONFIRMED, PREPARING -> engine.enqueue(toDispatchOrder(
+                    event.getOrderId(), event.getRestaurantId(), event.getDeliveryZip(), event.getOccurredAt()));
+            case DELIVERED -> engine.release(event.getOrderId());
+            case CANCELLED -> engine.cancel(event.getOrderId(), zoneOf(event.getDeliveryZip()));
+            default -> {
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.interval-ms:1000}")
+    public void dispatch() {
+        List<Assignment> assignments = engine.match(System.currentTimeMillis());
+        if (!assignments.isEmpty()) {
+            write(assignments);
+        }
+    }
+
+    public Courier saveCourier(Courier courier) {
+        if (courier.getZone() == null) {
+            courier.setZone(DispatchEngine.DEFAULT_ZONE);
+        }
+        if (courier.getActive() == null) {
+            courier.setActive(false);
+        }
+        Courier saved = courierRepository.save(courier);
+        engine.updateCourier(saved.getId(), saved.getZone(), saved.getActive());
+        return saved;
+    }
+
+    public Courier setCourierActive(Long courierId, boolean active) {
+        Courier courier = courierRepository.findById(courierId)
+                .orElseThrow(() -> new RuntimeException("Courier not found"));
+        courier.setActive(active);
+        return saveCourier(courier);
+    }
+
+    public Long courierFor(Long orderId) {
+        return engine.courierFor(orderId);
+    }
+
+    public Map<String, Object> stats() {
+        return engine.stats();
+    }
+
+    private void write(List<Assignment> assignments) {
+        List<Object[]> rows = new ArrayList<>();
+        List<DispatchOrder> rowOrders = new ArrayList<>();
+        for (Assignment assignment : assignments) {
+            Timestamp assignedAt = Timestamp.valueOf(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(assignment.assignedAt()), ZoneId.systemDefault()));
+            for (DispatchOrder order : assignment.orders()) {
+                rows.add(new Object[]{assignment.courierId(), assignedAt, order.orderId()});
+                rowOrders.add(order);
+            }
+        }
+
+        try {
+            int[] counts = new TransactionTemplate(transactionManager)
+                    .execute(status -> jdbcTemplate.batchUpdate(ASSIGN_SQL, rows));
+            for (int i = 0; i < counts.length; i++) {
+                // Cancelled or already assigned since it was queued
+                if (counts[i] == 0) {
+                    engine.release(rowOrders.get(i).orderId());
+                }
+            }
+        } catch (DataAccessException e) {
+            System.out.println("Courier assignment write failed, requeueing " + rows.size() + " orders: " + e.getMessage());
+            assignments.forEach(engine::revert);
+        }
+    }
+
+    private DispatchOrder toDispatchOrder(long orderId, long restaurantId, String deliveryZip, long readyAt) {
+        int index = zipGazetteer.indexOf(deliveryZip);
+        if (index == ZipGazetteer.NOT_FOUND) {
+            return new DispatchOrder(orderId, restaurantId, DispatchEngine.DEFAULT_ZONE, Double.NaN, Double.NaN, deliveryZip, readyAt);
+        }
+        return new DispatchOrder(orderId, restaurantId, zipGazetteer.zoneAt(index),
+                zipGazetteer.latitudeAt(index), zipGazetteer.longitudeAt(index), deliveryZip, readyAt);
+    }
+
+    private int zoneOf(String deliveryZip) {
+        int index = zipGazetteer.indexOf(deliveryZip);
+        return index == ZipGazetteer.NOT_FOUND ? DispatchEngine.DEFAULT_ZONE : zipGazetteer.zoneAt(index);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tastetrack.dispatch;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Drives a fresh {@link DispatchEngine} with synthetic orders and couriers on a
+ * simulated clock, without touching the database.
+ *
+ * Orders arrive as a Poisson stream spread over the zones, each zone having its own
+ * restaurants and drop-offs within a few kilometres of the zone centre. Assigned
+ * couriers are busy for 15-35 simulated minutes and then become idle again. The report
+ * gives assignment latency in simulated time (how long orders waited for a courier)
+ * and the wall-clock cost of the matcher, which is what bounds throughput.
+ */
+public final class DispatchSimulator {
+    private static final int RESTAURANTS_PER_ZONE = 25;
+    private static final double DROP_OFF_SPREAD_DEGREES = 0.03;
+
+    private DispatchSimulator() {
+    }
+
+    public static Map<String, Object> run(int orders, int couriers, int zones, int ordersPerMinute,
+                                          long tickMillis, long seed) {
+        if (orders <= 0 || couriers <= 0 || zones <= 0 || ordersPerMinute <= 0 || tickMillis <= 0) {
+            throw new RuntimeException("All simulation parameters must be positive");
+        }
+        DispatchEngine engine = new DispatchEngine();
+        Random random = new Random(seed);
+        for (long courierId = 1; courierId <= couriers; courierId++) {
+            engine.updateCourier(courierId, (int) (courierId % zones), true);
+        }
+
+        double meanGapMillis = 60_000.0 / ordersPerMinute;
+        // Stop eventually even if there are far too few couriers
+        long horizon = (long) (orders * meanGapMillis) + 6 * 3_600_000L;
+        PriorityQueue<long[]> completions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        long[] latencies = new long[orders];
+        int assigned = 0;
+        int batches = 0;
+        int created = 0;
+        double nextArrival = 0;
+        long now = 0;
+        long ticks = 0;
+        long matchNanos = 0;
+        long maxMatchNanos = 0;
+        long started = System.nanoTime();
+
+        while (assigned < orders && now < horizon) {
+            now += tickMillis;
+            while (created < orders && nextArrival <= now) {
+                int zone = random.nextInt(zones);
+                long restaurantId = (long) zone * RESTAURANTS_PER_ZONE + random.nextInt(RESTAURANTS_PER_ZONE);
+                double latitude = 40.0 + zone * 0.5 + (random.nextDouble() - 0.5) * 2 * DROP_OFF_SPREAD_DEGREES;
+                double longitude = -74.0 + (random.nextDouble() - 0.5) * 2 * DROP_OFF_SPREAD_DEGREES;
+                engine.enqueue(new DispatchOrder(created + 1, restaurantId, zone, latitude, longitude, null, (long) nextArrival));
+                created++;
+                nextArrival += -Math.log(1.0 - random.nextDouble()) * meanGapMillis;
+            }
+            while (!completions.isEmpty() && completions.peek()[0] <= now) {
+                engine.release(completions.poll()[1]);
+            }
+
+            long matchStart = System.nanoTime();
+            List<Assignment> assignments = engine.match(now);
+            long elapsed = System.nanoTime() - matchStart;
+            matchNanos += elapsed;
+            maxMatchNanos = Math.max(maxMatchNanos, elapsed);
+            ticks++;
+
+            for (Assignment assignment : assignments) {
+                batches++;
+                long deliveredAt = now + (15 + random.nextInt(21)) * 60_000L;
+                for (DispatchOrder order : assignment.orders()) {
+                    latencies[assigned++] = now - order.readyAt();
+                    completions.add(new long[]{deliveredAt, order.orderId()});
+                }
+            }
+        }
+        long wallMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long[] sorted = Arrays.copyOf(latencies, assigned);
+        Arrays.sort(sorted);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", LatencyRecorder.percentile(sorted, 0.50));
+        latency.put("p95", LatencyRecorder.percentile(sorted, 0.95));
+        latency.put("p99", LatencyRecorder.percentile(sorted, 0.99));
+        latency.put("max", sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("orders", orders);
+        report.put("couriers", couriers);
+        report.put("zones", zones);
+        report.put("ordersPerMinute", ordersPerMinute);
+        report.put("tickMillis", tickMillis);
+        report.put("assignedOrders", assigned);
+        report.put("unassignedOrders", orders - assigned);
+        report.put("batches", batches);
+        report.put("averageBatchSize", batches == 0 ? 0.0 : (double) assigned / batches);
+        report.put("simulatedMinutes", now / 60_000.0);
+        report.put("assignmentLatencyMs", latency);
+        report.put("matcherAverageMicros", ticks == 0 ? 0.0 : matchNanos / 1000.0 / ticks);
+        report.put("matcherMaxMicros", maxMatchNanos / 1000.0);
+        report.put("wallClockMillis", wallMillis);
+        return report;
+    }
+}
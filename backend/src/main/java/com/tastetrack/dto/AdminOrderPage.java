@@ -0,0 +1,19 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminOrderPage {
+    private List<OrderView> orders;
+    // Pass as cursor to get the next page; null on the last page
+    private String nextCursor;
+    // Orders per status matching the restaurant and date filters, whatever statuses were asked for
+    private Map<String, Long> counts;
+}
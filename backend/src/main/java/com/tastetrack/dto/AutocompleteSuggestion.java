@@ -0,0 +1,15 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+    private String type;
+    private String text;
+    private Long id;
+    private Long restaurantId;
+}
@@ -0,0 +1,26 @@
+package com.tastetrack.dto;
+
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChanges {
+    // Pass as since on the next call
+    private long version;
+    // The changes since are gone: drop the local copy and reload the catalog
+    private boolean reset;
+    private boolean hasMore;
+    // Current state of restaurants and menu items changed since; some may repeat an earlier call
+    private List<Restaurant> restaurants;
+    private List<MenuItem> menuItems;
+    // Deleting a restaurant also deletes its menu items
+    private List<Long> deletedRestaurantIds;
+    private List<Long> deletedMenuItemIds;
+}
@@ -0,0 +1,27 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortReport {
+    // "day" or "week"
+    private String granularity;
+    // "signup" or "firstOrder"
+    private String cohortBy;
+    // Only orders at this restaurant count when set
+    private Long restaurantId;
+    private LocalDate from;
+    private LocalDate to;
+    private int periods;
+    // One row per cohort, oldest first
+    private List<CohortRow> cohorts;
+    // False while the bitmaps are still being built from the database
+    private boolean complete;
+}
@@ -0,0 +1,21 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortRow {
+    // First day of the cohort's period
+    private LocalDate start;
+    private int customers;
+    // Customers of the cohort who ordered 0, 1, 2... periods after it; stops at the current period
+    private List<Integer> retained;
+    // Customers who ordered in at least two of those periods
+    private int repeatCustomers;
+}
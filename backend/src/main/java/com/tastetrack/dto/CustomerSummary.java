@@ -0,0 +1,14 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummary {
+    private Long id;
+    private String firstName;
+    private String lastName;
+}
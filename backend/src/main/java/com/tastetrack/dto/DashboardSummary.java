@@ -0,0 +1,26 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+    // Orders currently in each status
+    private Map<String, Long> ordersByStatus;
+    // Revenue and ticket figures leave out cancelled orders
+    private long orders;
+    private double revenue;
+    private double averageTicket;
+    private long ordersToday;
+    private double revenueToday;
+    private double averageTicketToday;
+    // Highest revenue first
+    private List<RestaurantRevenue> topRestaurants;
+    private long generatedAt;
+}
@@ -0,0 +1,15 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationPing {
+    private Double latitude;
+    private Double longitude;
+    // Device time in epoch milliseconds; the server time is used when absent
+    private Long recordedAt;
+}
@@ -0,0 +1,15 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemSummary {
+    private Long id;
+    private String name;
+    private String image;
+    private Boolean isVeg;
+}
@@ -0,0 +1,14 @@
+package com.tastetrack.dto;
+
+import com.tastetrack.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyRestaurant {
+    private Restaurant restaurant;
+    private double distanceKm;
+}
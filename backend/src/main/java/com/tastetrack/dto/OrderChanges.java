@@ -0,0 +1,18 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChanges {
+    // Changed orders, oldest change first; an order may repeat one seen in an earlier call
+    private List<OrderView> orders;
+    // Pass as since on the next call
+    private long version;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCourierLocation {
+    private Long courierId;
+    private double latitude;
+    private double longitude;
+    // Epoch milliseconds
+    private long recordedAt;
+    // Recent [latitude, longitude] points, oldest first
+    private List<double[]> path;
+}
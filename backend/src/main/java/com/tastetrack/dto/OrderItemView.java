@@ -0,0 +1,32 @@
+package com.tastetrack.dto;
+
+import com.tastetrack.entity.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemView {
+    // Groups items under their order; not serialized
+    private Long orderId;
+    private Long id;
+    private Integer quantity;
+    private Double price;
+    private MenuItemSummary menuItem;
+
+    /**
+     * Constructor expression used by {@link com.tastetrack.repository.OrderItemRepository#findViewsByOrderIdIn}.
+     */
+    public OrderItemView(Long orderId, Long id, Integer quantity, Double price,
+                         Long menuItemId, String menuItemName, String menuItemImage, Boolean menuItemIsVeg) {
+        this(orderId, id, quantity, price, new MenuItemSummary(menuItemId, menuItemName, menuItemImage, menuItemIsVeg));
+    }
+
+    public static OrderItemView from(OrderItem item) {
+        return new OrderItemView(item.getOrder().getId(), item.getId(), item.getQuantity(), item.getPrice(),
+                item.getMenuItem().getId(), item.getMenuItem().getName(), item.getMenuItem().getImage(),
+                item.getMenuItem().getIsVeg());
+    }
+}
@@ -0,0 +1,16 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage {
+    private List<OrderView> orders;
+    // Pass as cursor to get the next page; null on the last page
+    private String nextCursor;
+}
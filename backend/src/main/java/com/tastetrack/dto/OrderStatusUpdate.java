@@ -0,0 +1,19 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdate {
+    private String orderNumber;
+    private String status;
+    private String previousStatus;
+    private LocalDateTime estimatedDelivery;
+    // Epoch milliseconds
+    private long occurredAt;
+}
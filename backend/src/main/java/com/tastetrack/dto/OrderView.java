@@ -0,0 +1,74 @@
+package com.tastetrack.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tastetrack.entity.Delivery;
+import com.tastetrack.entity.Order;
+import com.tastetrack.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What order endpoints return instead of the {@link Order} entity: the fields the
+ * customer, vendor and admin pages show, with the restaurant, customer and menu items
+ * cut down to a summary. Read with constructor expressions, so building one loads no
+ * entities, and written by {@link OrderViewSerializer}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSerialize(using = OrderViewSerializer.class)
+public class OrderView {
+    private Long id;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private Double total;
+    private String deliveryAddress;
+    private LocalDateTime orderDate;
+    private LocalDateTime estimatedDelivery;
+    private Long changeVersion;
+    private RestaurantSummary restaurant;
+    private CustomerSummary user;
+    private List<OrderItemView> items = new ArrayList<>();
+    private Payment.PaymentMethod paymentMethod;
+    private Payment.PaymentStatus paymentStatus;
+    private Delivery.DeliveryStatus deliveryStatus;
+
+    /**
+     * Constructor expression used by {@link com.tastetrack.repository.OrderRepository#findViewsByIdIn};
+     * items are added afterwards.
+     */
+    public OrderView(Long id, String orderNumber, Order.OrderStatus status, Double total, String deliveryAddress,
+                     LocalDateTime orderDate, LocalDateTime estimatedDelivery, Long changeVersion,
+                     Long restaurantId, String restaurantName, String restaurantAddress, String restaurantImage,
+                     Long userId, String firstName, String lastName,
+                     Payment.PaymentMethod paymentMethod, Payment.PaymentStatus paymentStatus,
+                     Delivery.DeliveryStatus deliveryStatus) {
+        this(id, orderNumber, status, total, deliveryAddress, orderDate, estimatedDelivery, changeVersion,
+                new RestaurantSummary(restaurantId, restaurantName, restaurantAddress, restaurantImage),
+                new CustomerSummary(userId, firstName, lastName),
+                new ArrayList<>(), paymentMethod, paymentStatus, deliveryStatus);
+    }
+
+    /**
+     * View of an order already loaded as an entity, e.g. one just written.
+     */
+    public static OrderView from(Order order) {
+        OrderView view = new OrderView(order.getId(), order.getOrderNumber(), order.getStatus(), order.getTotal(),
+                order.getDeliveryAddress(), order.getOrderDate(), order.getEstimatedDelivery(), order.getChangeVersion(),
+                order.getRestaurant().getId(), order.getRestaurant().getName(), order.getRestaurant().getAddress(),
+                order.getRestaurant().getImage(),
+                order.getUser().getId(), order.getUser().getFirstName(), order.getUser().getLastName(),
+                order.getPayment() != null ? order.getPayment().getPaymentMethod() : null,
+                order.getPayment() != null ? order.getPayment().getStatus() : null,
+                order.getDelivery() != null ? order.getDelivery().getStatus() : null);
+        if (order.getItems() != null) {
+            order.getItems().forEach(item -> view.getItems().add(OrderItemView.from(item)));
+        }
+        return view;
+    }
+}
@@ -0,0 +1,164 @@
+package com.tastetrack.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an {@link OrderView} field by field, with field names encoded once, instead of
+ * going through bean introspection. The output has the same shape and date format as
+ * the default serializer would produce.
+ */
+public class OrderViewSerializer extends StdSerializer<OrderView> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ORDER_NUMBER = new SerializedString("orderNumber");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString DELIVERY_ADDRESS = new SerializedString("deliveryAddress");
+    private static final SerializedString ORDER_DATE = new SerializedString("orderDate");
+    private static final SerializedString ESTIMATED_DELIVERY = new SerializedString("estimatedDelivery");
+    private static final SerializedString CHANGE_VERSION = new SerializedString("changeVersion");
+    private static final SerializedString RESTAURANT = new SerializedString("restaurant");
+    private static final SerializedString USER = new SerializedString("user");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString PAYMENT_METHOD = new SerializedString("paymentMethod");
+    private static final SerializedString PAYMENT_STATUS = new SerializedString("paymentStatus");
+    private static final SerializedString DELIVERY_STATUS = new SerializedString("deliveryStatus");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString IMAGE = new SerializedString("image");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString MENU_ITEM = new SerializedString("menuItem");
+    private static final SerializedString IS_VEG = new SerializedString("isVeg");
+
+    public OrderViewSerializer() {
+        super(OrderView.class);
+    }
+
+    @Override
+    public void serialize(OrderView order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, order.getId());
+        writeString(gen, ORDER_NUMBER, order.getOrderNumber());
+        writeString(gen, STATUS, order.getStatus());
+        gen.writeFieldName(TOTAL);
+        if (order.getTotal() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(order.getTotal());
+        }
+        writeString(gen, DELIVERY_ADDRESS, order.getDeliveryAddress());
+        writeDate(gen, ORDER_DATE, order.getOrderDate());
+        writeDate(gen, ESTIMATED_DELIVERY, order.getEstimatedDelivery());
+        writeNumber(gen, CHANGE_VERSION, order.getChangeVersion());
+
+        gen.writeFieldName(RESTAURANT);
+        RestaurantSummary restaurant = order.getRestaurant();
+        if (restaurant == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject();
+            writeNumber(gen, ID, restaurant.getId());
+            writeString(gen, NAME, restaurant.getName());
+            writeString(gen, ADDRESS, restaurant.getAddress());
+            writeString(gen, IMAGE, restaurant.getImage());
+            gen.writeEndObject();
+        }
+
+        gen.writeFieldName(USER);
+        CustomerSummary user = order.getUser();
+        if (user == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject();
+            writeNumber(gen, ID, user.getId());
+            writeString(gen, FIRST_NAME, user.getFirstName());
+            writeString(gen, LAST_NAME, user.getLastName());
+            gen.writeEndObject();
+        }
+
+        gen.writeFieldName(ITEMS);
+        gen.writeStartArray();
+        if (order.getItems() != null) {
+            for (OrderItemView item : order.getItems()) {
+                writeItem(gen, item);
+            }
+        }
+        gen.writeEndArray();
+
+        writeString(gen, PAYMENT_METHOD, order.getPaymentMethod());
+        writeString(gen, PAYMENT_STATUS, order.getPaymentStatus());
+        writeString(gen, DELIVERY_STATUS, order.getDeliveryStatus());
+        gen.writeEndObject();
+    }
+
+    private static void writeItem(JsonGenerator gen, OrderItemView item) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, item.getId());
+        gen.writeFieldName(QUANTITY);
+        if (item.getQuantity() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(item.getQuantity());
+        }
+        gen.writeFieldName(PRICE);
+        if (item.getPrice() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(item.getPrice());
+        }
+        gen.writeFieldName(MENU_ITEM);
+        MenuItemSummary menuItem = item.getMenuItem();
+        if (menuItem == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject();
+            writeNumber(gen, ID, menuItem.getId());
+            writeString(gen, NAME, menuItem.getName());
+            writeString(gen, IMAGE, menuItem.getImage());
+            gen.writeFieldName(IS_VEG);
+            if (menuItem.getIsVeg() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeBoolean(menuItem.getIsVeg());
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, Object value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+    }
+
+    private static void writeDate(JsonGenerator gen, SerializedString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantFilterRequest {
+    private List<String> cuisine;
+    private Boolean open;
+    private Boolean veg;
+    private Double minRating;
+    private Double maxMinOrder;
+    private Integer maxDeliveryMinutes;
+    private String sort = "rating";
+    private int page = 0;
+    private int size = 20;
+}
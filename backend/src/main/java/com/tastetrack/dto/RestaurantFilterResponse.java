@@ -0,0 +1,20 @@
+package com.tastetrack.dto;
+
+import com.tastetrack.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantFilterResponse {
+    private List<Restaurant> restaurants;
+    private int total;
+    private int page;
+    private int size;
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,15 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantRevenue {
+    private Long restaurantId;
+    private long orders;
+    private double revenue;
+    private double averageTicket;
+}
@@ -0,0 +1,22 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeries {
+    // "hour" or "day"
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    // Only buckets with delivered orders, oldest first
+    private List<TimeSeriesPoint> points;
+    // False while orders delivered before the rollups existed are still being added
+    private boolean complete;
+}
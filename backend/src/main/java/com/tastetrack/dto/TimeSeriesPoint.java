@@ -0,0 +1,19 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesPoint {
+    private LocalDateTime bucket;
+    // Restaurant id or payment method when the series is split; null otherwise
+    private String key;
+    private long orders;
+    private double revenue;
+    private double averageTicket;
+}
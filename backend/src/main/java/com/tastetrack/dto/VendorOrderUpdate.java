@@ -0,0 +1,23 @@
+package com.tastetrack.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorOrderUpdate {
+    private Long id;
+    private String orderNumber;
+    private Double total;
+    private String status;
+    private String previousStatus;
+    private String deliveryAddress;
+    private LocalDateTime orderDate;
+    private LocalDateTime estimatedDelivery;
+    // Epoch milliseconds
+    private long occurredAt;
+}
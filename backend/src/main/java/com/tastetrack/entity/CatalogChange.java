@@ -0,0 +1,51 @@
+package com.tastetrack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of the catalog change log; its id is the version clients sync from.
+ * Written by {@link com.tastetrack.service.CatalogChangeLog}.
+ */
+@Entity
+@Table(name = "catalog_changes", indexes = {
+        @Index(name = "idx_catalog_change_entity", columnList = "entity_type, entity_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    // For HORIZON, the highest change id removed by compaction
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        RESTAURANT, MENU_ITEM, CATALOG
+    }
+
+    public enum Operation {
+        UPSERT, DELETE, RESET, HORIZON
+    }
+}
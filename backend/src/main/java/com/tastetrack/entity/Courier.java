@@ -0,0 +1,35 @@
+package com.tastetrack.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "couriers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Courier {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column
+    private String phone;
+
+    @Column(nullable = false)
+    private Integer zone = 0;
+
+    @Column(nullable = false)
+    private Boolean active = false;
+
+    // Secret sent by the courier's device with location pings
+    @Column(name = "device_token", unique = true, length = 64)
+    @JsonIgnore
+    private String deviceToken;
+}
@@ -0,0 +1,37 @@
+package com.tastetrack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored point of a courier's track. Rows are written in batches by
+ * {@link com.tastetrack.tracking.CourierLocationStore}, not through JPA.
+ */
+@Entity
+@Table(name = "courier_locations", indexes = {
+        @Index(name = "idx_courier_location_time", columnList = "courier_id, recorded_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourierLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "courier_id", nullable = false)
+    private Long courierId;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -47,6 +47,13 @@ public class Delivery {
     @Column(name = "delivery_date")
     private LocalDateTime deliveryDate;
 
+    // Written only by the dispatcher's batched updates, never by entity saves
+    @Column(name = "courier_id", insertable = false, updatable = false)
+    private Long courierId;
+
+    @Column(name = "assigned_at", insertable = false, updatable = false)
+    private LocalDateTime assignedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DeliveryStatus status = DeliveryStatus.PENDING;
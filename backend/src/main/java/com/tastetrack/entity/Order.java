@@ -10,7 +10,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_order_restaurant_change", columnList = "restaurant_id, change_version"),
+        @Index(name = "idx_order_user_date", columnList = "user_id, order_date, id"),
+        @Index(name = "idx_order_status_date", columnList = "status, order_date, id"),
+        @Index(name = "idx_order_restaurant_status_date", columnList = "restaurant_id, status, order_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,6 +55,15 @@ public class Order {
     @Column(name = "estimated_delivery")
     private LocalDateTime estimatedDelivery;
 
+    // Set from OrderChangeClock on every insert and status change
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
+    // Whether the order is counted in the rollup tables; only written by OrderRollups
+    @Column(name = "rolled_up", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean rolledUp = false;
+
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private Payment payment;
 
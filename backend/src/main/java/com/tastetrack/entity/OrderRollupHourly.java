@@ -0,0 +1,41 @@
+package com.tastetrack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivered orders and their revenue per hour, restaurant and payment method. Rows are
+ * upserted by {@link com.tastetrack.reporting.OrderRollups}, not through JPA.
+ */
+@Entity
+@Table(name = "order_rollup_hourly", indexes = {
+        @Index(name = "idx_rollup_hourly_restaurant", columnList = "restaurant_id, bucket_start")
+})
+@IdClass(RollupKey.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRollupHourly {
+    // Start of the hour, server local time
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Id
+    @Column(name = "payment_method", length = 20)
+    private String paymentMethod;
+
+    @Column(nullable = false)
+    private Long orders;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+}
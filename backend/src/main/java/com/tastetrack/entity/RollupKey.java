@@ -0,0 +1,20 @@
+package com.tastetrack.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Primary key of {@link OrderRollupHourly} and {@link OrderRollupDaily}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupKey implements Serializable {
+    private LocalDateTime bucketStart;
+    private Long restaurantId;
+    private String paymentMethod;
+}
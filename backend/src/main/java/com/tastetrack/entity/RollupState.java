@@ -0,0 +1,34 @@
+package com.tastetrack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the order rollup backfill, so a restart resumes where it stopped. Written
+ * by {@link com.tastetrack.reporting.OrderRollups}, not through JPA.
+ */
+@Entity
+@Table(name = "rollup_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupState {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    // Orders up to this id have been backfilled
+    @Column(name = "last_order_id", nullable = false)
+    private Long lastOrderId;
+
+    // Highest order id when the backfill started; later orders are rolled up as they complete
+    @Column(name = "target_order_id", nullable = false)
+    private Long targetOrderId;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
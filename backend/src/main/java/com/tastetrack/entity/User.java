@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
@@ -39,6 +40,11 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Filled in by the database on insert; signup cohorts are built from it
+    @Column(name = "created_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+
     public enum Role {
         CUSTOMER, ADMIN, VENDOR
     }
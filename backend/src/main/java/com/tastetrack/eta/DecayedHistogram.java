@@ -0,0 +1,76 @@
+package com.tastetrack.eta;
+
+/**
+ * Histogram of durations in minutes whose weights decay exponentially with age.
+ *
+ * Memory is fixed at BINS counters whatever the number of observations; older
+ * observations fade with the configured half-life instead of being stored and
+ * expired. Not thread-safe: callers synchronize.
+ */
+final class DecayedHistogram {
+    static final int BIN_MINUTES = 2;
+    // 0-120 minutes; longer durations land in the last bin
+    static final int BINS = 60;
+
+    private final double decayPerMilli;
+    private final double[] weights = new double[BINS];
+    private double total;
+    private long updatedAt;
+
+    DecayedHistogram(long halfLifeMillis) {
+        this.decayPerMilli = Math.log(2) / halfLifeMillis;
+    }
+
+    void add(double minutes, long now) {
+        decayTo(now);
+        int bin = (int) Math.min(BINS - 1, Math.max(0, minutes / BIN_MINUTES));
+        weights[bin] += 1.0;
+        total += 1.0;
+    }
+
+    /**
+     * Decayed number of observations as of now.
+     */
+    double weight(long now) {
+        return total * factor(now);
+    }
+
+    /**
+     * The q-quantile in minutes of this histogram mixed with prior, where the prior
+     * counts as priorWeight observations whatever its own weight. NaN if both are empty.
+     */
+    double quantile(double q, long now, DecayedHistogram prior, double priorWeight) {
+        double own = factor(now);
+        double priorScale = prior != null && prior.total > 0 ? priorWeight / prior.total : 0.0;
+        double mass = total * own + (priorScale > 0 ? priorWeight : 0.0);
+        if (mass <= 0) {
+            return Double.NaN;
+        }
+        double target = q * mass;
+        double seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            double weight = weights[i] * own + (priorScale > 0 ? prior.weights[i] * priorScale : 0.0);
+            if (weight > 0 && seen + weight >= target) {
+                // Interpolate within the bin
+                return (i + (target - seen) / weight) * BIN_MINUTES;
+            }
+            seen += weight;
+        }
+        return BINS * BIN_MINUTES;
+    }
+
+    private void decayTo(long now) {
+        double f = factor(now);
+        if (f < 1.0) {
+            for (int i = 0; i < BINS; i++) {
+                weights[i] *= f;
+            }
+            total *= f;
+        }
+        updatedAt = Math.max(updatedAt, now);
+    }
+
+    private double factor(long now) {
+        return now <= updatedAt ? 1.0 : Math.exp(-(now - updatedAt) * decayPerMilli);
+    }
+}
@@ -0,0 +1,223 @@
+package com.tastetrack.eta;
+
+import com.tastetrack.entity.Order;
+import com.tastetrack.event.OrderEvent;
+import com.tastetrack.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivery time estimates learned from each restaurant's recent orders.
+ *
+ * Every restaurant keeps two {@link DecayedHistogram}s: preparation time (placed until
+ * out for delivery) and delivery time (out for delivery until delivered), fed from
+ * {@link OrderEvent}s. An estimate is the configured quantile of each, with the
+ * restaurant's histograms mixed with the all-restaurant ones so that a restaurant with
+ * few orders starts from the global picture. The global histograms themselves start
+ * from one pseudo-observation matching the old fixed 45 minutes.
+ *
+ * Kitchen load is the number of the restaurant's orders not yet out for delivery. The
+ * kitchen is assumed to work on eta.kitchen-slots orders at once, so a new order waits
+ * for a share of the preparation time of each order queued beyond that.
+ *
+ * Everything is in memory and an estimate takes a few microseconds. Orders in progress
+ * are reloaded at startup; histograms start empty and fill up as orders complete.
+ */
+@Component
+public class EtaEstimator {
+    static final double DEFAULT_PREP_MINUTES = 20;
+    static final double DEFAULT_DELIVERY_MINUTES = 25;
+    // How many observations the global histograms count for in a restaurant's estimate
+    private static final double PRIOR_WEIGHT = 5.0;
+    // Ignore durations no real order takes (clock changes, orders left open for days)
+    private static final double MAX_OBSERVED_MINUTES = 360;
+    private static final long UNKNOWN = -1;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final double quantile;
+    private final int kitchenSlots;
+    private final long halfLifeMillis;
+    private final DecayedHistogram globalPrep;
+    private final DecayedHistogram globalDelivery;
+    private final ConcurrentHashMap<Long, RestaurantEta> restaurants = new ConcurrentHashMap<>();
+    // Orders in the kitchen and on the way, with the time they entered that stage
+    private final ConcurrentHashMap<Long, ActiveOrder> inKitchen = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ActiveOrder> onTheWay = new ConcurrentHashMap<>();
+
+    public EtaEstimator(@Value("${eta.quantile:0.7}") double quantile,
+                        @Value("${eta.kitchen-slots:4}") int kitchenSlots,
+                        @Value("${eta.half-life-hours:72}") double halfLifeHours) {
+        this.quantile = quantile;
+        this.kitchenSlots = Math.max(1, kitchenSlots);
+        this.halfLifeMillis = (long) (halfLifeHours * 3_600_000L);
+        long now = System.currentTimeMillis();
+        globalPrep = new DecayedHistogram(halfLifeMillis);
+        globalPrep.add(DEFAULT_PREP_MINUTES, now);
+        globalDelivery = new DecayedHistogram(halfLifeMillis);
+        globalDelivery.add(DEFAULT_DELIVERY_MINUTES, now);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<Object[]> rows = orderRepository.findProgressRows(List.of(Order.OrderStatus.PENDING,
+                Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.OUT_FOR_DELIVERY));
+        for (Object[] row : rows) {
+            long orderId = (Long) row[0];
+            long restaurantId = (Long) row[1];
+            if (row[3] == Order.OrderStatus.OUT_FOR_DELIVERY) {
+                // When it left the kitchen is not stored, so its delivery time is not learned
+                onTheWay.put(orderId, new ActiveOrder(restaurantId, UNKNOWN));
+            } else {
+                enterKitchen(orderId, restaurantId, millis((LocalDateTime) row[2]));
+            }
+        }
+        System.out.println("ETA estimator restored with " + rows.size() + " orders in progress");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        long orderId = event.getOrderId();
+        long now = event.getOccurredAt();
+        if (event.getType() == OrderEvent.Type.PLACED) {
+            enterKitchen(orderId, event.getRestaurantId(), now);
+            return;
+        }
+        switch (event.getStatus()) {
+            case PENDING, CONFIRMED, PREPARING -> enterKitchen(orderId, event.getRestaurantId(),
+                    event.getOrderDate() != null ? millis(event.getOrderDate()) : now);
+            case OUT_FOR_DELIVERY -> {
+                leaveKitchen(orderId, now, true);
+                onTheWay.putIfAbsent(orderId, new ActiveOrder(event.getRestaurantId(), now));
+            }
+            case DELIVERED -> {
+                leaveKitchen(orderId, now, false);
+                ActiveOrder order = onTheWay.remove(orderId);
+                if (order != null && order.since() != UNKNOWN) {
+                    double minutes = (now - order.since()) / 60_000.0;
+                    if (minutes >= 0 && minutes <= MAX_OBSERVED_MINUTES) {
+                        restaurant(order.restaurantId()).recordDelivery(minutes, now);
+                        synchronized (globalDelivery) {
+                            globalDelivery.add(minutes, now);
+                        }
+                    }
+                }
+            }
+            case CANCELLED -> {
+                leaveKitchen(orderId, now, false);
+                onTheWay.remove(orderId);
+            }
+        }
+    }
+
+    /**
+     * Minutes from now until a new order at the restaurant is likely delivered.
+     */
+    public double estimateMinutes(long restaurantId) {
+        long now = System.currentTimeMillis();
+        RestaurantEta eta = restaurants.get(restaurantId);
+        if (eta == null) {
+            return globalQuantile(globalPrep, now) + globalQuantile(globalDelivery, now);
+        }
+        return eta.estimateMinutes(now);
+    }
+
+    /**
+     * Minutes from now until an order that just left the restaurant is likely delivered.
+     */
+    public double deliveryMinutes(long restaurantId) {
+        long now = System.currentTimeMillis();
+        RestaurantEta eta = restaurants.get(restaurantId);
+        if (eta == null) {
+            return globalQuantile(globalDelivery, now);
+        }
+        return eta.deliveryMinutes(now);
+    }
+
+    private double globalQuantile(DecayedHistogram histogram, long now) {
+        synchronized (histogram) {
+            return histogram.quantile(quantile, now, null, 0);
+        }
+    }
+
+    private void enterKitchen(long orderId, long restaurantId, long since) {
+        if (onTheWay.containsKey(orderId)) {
+            return;
+        }
+        if (inKitchen.putIfAbsent(orderId, new ActiveOrder(restaurantId, since)) == null) {
+            restaurant(restaurantId).changeLoad(1);
+        }
+    }
+
+    private void leaveKitchen(long orderId, long now, boolean learn) {
+        ActiveOrder order = inKitchen.remove(orderId);
+        if (order == null) {
+            return;
+        }
+        RestaurantEta eta = restaurant(order.restaurantId());
+        eta.changeLoad(-1);
+        double minutes = (now - order.since()) / 60_000.0;
+        if (learn && minutes >= 0 && minutes <= MAX_OBSERVED_MINUTES) {
+            eta.recordPrep(minutes, now);
+            synchronized (globalPrep) {
+                globalPrep.add(minutes, now);
+            }
+        }
+    }
+
+    private RestaurantEta restaurant(long restaurantId) {
+        return restaurants.computeIfAbsent(restaurantId, id -> new RestaurantEta());
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ActiveOrder(long restaurantId, long since) {
+    }
+
+    private final class RestaurantEta {
+        private final DecayedHistogram prep = new DecayedHistogram(halfLifeMillis);
+        private final DecayedHistogram delivery = new DecayedHistogram(halfLifeMillis);
+        private int load;
+
+        synchronized void changeLoad(int delta) {
+            load = Math.max(0, load + delta);
+        }
+
+        synchronized void recordPrep(double minutes, long now) {
+            prep.add(minutes, now);
+        }
+
+        synchronized void recordDelivery(double minutes, long now) {
+            delivery.add(minutes, now);
+        }
+
+        synchronized double estimateMinutes(long now) {
+            double prepMinutes;
+            synchronized (globalPrep) {
+                prepMinutes = prep.quantile(quantile, now, globalPrep, PRIOR_WEIGHT);
+            }
+            // Orders beyond the kitchen's capacity are finished kitchenSlots at a time
+            int queued = load - kitchenSlots + 1;
+            double waitMinutes = queued > 0 ? queued * prepMinutes / kitchenSlots : 0.0;
+            return prepMinutes + waitMinutes + deliveryMinutes(now);
+        }
+
+        synchronized double deliveryMinutes(long now) {
+            synchronized (globalDelivery) {
+                return delivery.quantile(quantile, now, globalDelivery, PRIOR_WEIGHT);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tastetrack.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published whenever a restaurant or menu item is written. Listeners that keep
+ * derived copies of the catalog use it to refresh only what changed.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogChangeEvent {
+    private final Type type;
+    private final Long restaurantId;
+    private final Long menuItemId;
+
+    public enum Type {
+        RESTAURANT_SAVED, RESTAURANT_DELETED, MENU_ITEM_SAVED, MENU_ITEM_DELETED, CATALOG_RELOADED
+    }
+
+    public static CatalogChangeEvent restaurantSaved(Long restaurantId) {
+        return new CatalogChangeEvent(Type.RESTAURANT_SAVED, restaurantId, null);
+    }
+
+    public static CatalogChangeEvent restaurantDeleted(Long restaurantId) {
+        return new CatalogChangeEvent(Type.RESTAURANT_DELETED, restaurantId, null);
+    }
+
+    public static CatalogChangeEvent menuItemSaved(Long restaurantId, Long menuItemId) {
+        return new CatalogChangeEvent(Type.MENU_ITEM_SAVED, restaurantId, menuItemId);
+    }
+
+    public static CatalogChangeEvent menuItemDeleted(Long restaurantId, Long menuItemId) {
+        return new CatalogChangeEvent(Type.MENU_ITEM_DELETED, restaurantId, menuItemId);
+    }
+
+    /**
+     * The whole catalog was replaced, e.g. by the admin data refresh.
+     */
+    public static CatalogChangeEvent catalogReloaded() {
+        return new CatalogChangeEvent(Type.CATALOG_RELOADED, null, null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tastetrack.event;
+
+import com.tastetrack.entity.Order;
+import com.tastetrack.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an order is placed or changes status. It carries a snapshot of the
+ * fields listeners need, so they never have to touch the (possibly detached) entity.
+ */
+@Data
+@AllArgsConstructor
+public class OrderEvent {
+    private final Type type;
+    private final Long orderId;
+    private final String orderNumber;
+    private final Long restaurantId;
+    private final Long userId;
+    private final Order.OrderStatus status;
+    private final Order.OrderStatus previousStatus;
+    private final Double total;
+    private final String deliveryAddress;
+    private final String deliveryZip;
+    private final Payment.PaymentMethod paymentMethod;
+    private final LocalDateTime orderDate;
+    private final LocalDateTime estimatedDelivery;
+    private final long occurredAt;
+
+    public enum Type {
+        PLACED, STATUS_CHANGED
+    }
+
+    public static OrderEvent placed(Order order) {
+        return of(Type.PLACED, order, null);
+    }
+
+    public static OrderEvent statusChanged(Order order, Order.OrderStatus previousStatus) {
+        return of(Type.STATUS_CHANGED, order, previousStatus);
+    }
+
+    private static OrderEvent of(Type type, Order order, Order.OrderStatus previousStatus) {
+        return new OrderEvent(
+                type,
+                order.getId(),
+                order.getOrderNumber(),
+                order.getRestaurant().getId(),
+                order.getUser().getId(),
+                order.getStatus(),
+                previousStatus,
+                order.getTotal(),
+                order.getDeliveryAddress(),
+                order.getDelivery() != null ? order.getDelivery().getDeliveryZip() : null,
+                order.getPayment() != null ? order.getPayment().getPaymentMethod() : null,
+                order.getOrderDate(),
+                order.getEstimatedDelivery(),
+                System.currentTimeMillis());
+    }
+}
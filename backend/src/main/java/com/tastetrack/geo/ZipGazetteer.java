@@ -0,0 +1,145 @@
+package com.tastetrack.geo;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Zip code to (latitude, longitude, zone) lookups from a local data file.
+ *
+ * The compiled file (see {@link ZipGazetteerCompiler}) is memory-mapped at startup and
+ * searched in place: {@link #indexOf(String)} binary-searches the sorted records and
+ * the accessors read fields at the returned index, so a lookup allocates nothing and
+ * the data stays in the page cache rather than on the heap.
+ *
+ * If a source CSV is configured it is compiled only when the binary file is missing or
+ * was built from a different CSV, so normal restarts just map the existing file. With
+ * no data file the gazetteer is disabled and every lookup misses.
+ */
+@Component
+public class ZipGazetteer {
+    public static final int NOT_FOUND = -1;
+
+    @Value("${gazetteer.data-file:data/zip-gazetteer.bin}")
+    private String dataFile;
+
+    @Value("${gazetteer.source-csv:}")
+    private String sourceCsv;
+
+    private MappedByteBuffer records;
+    private int count;
+
+    @PostConstruct
+    public void init() {
+        Path target = Path.of(dataFile);
+        try {
+            if (!sourceCsv.isBlank()) {
+                Path source = Path.of(sourceCsv);
+                if (Files.exists(source) && ZipGazetteerCompiler.isStale(source, target)) {
+                    int compiled = ZipGazetteerCompiler.compile(source, target);
+                    System.out.println("Compiled " + compiled + " zip codes from " + source + " into " + target);
+                }
+            }
+            if (!Files.exists(target)) {
+                System.out.println("Zip gazetteer disabled: no data file at " + target.toAbsolutePath());
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                mapped.order(ByteOrder.BIG_ENDIAN);
+                if (channel.size() < ZipGazetteerCompiler.HEADER_BYTES
+                        || mapped.getInt(0) != ZipGazetteerCompiler.MAGIC
+                        || mapped.getInt(4) != ZipGazetteerCompiler.VERSION) {
+                    throw new IllegalStateException("Not a zip gazetteer file: " + target);
+                }
+                count = mapped.getInt(8);
+                records = mapped;
+            }
+            System.out.println("Zip gazetteer mapped with " + count + " zip codes");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load zip gazetteer from " + target, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return records != null;
+    }
+
+    /**
+     * Record index for a zip code such as "94103" or "94103-1234", or NOT_FOUND.
+     */
+    public int indexOf(String zip) {
+        int key = parseZip(zip);
+        if (key < 0 || records == null) {
+            return NOT_FOUND;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = records.getInt(offset(mid));
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    public double latitudeAt(int index) {
+        return records.getFloat(offset(index) + 4);
+    }
+
+    public double longitudeAt(int index) {
+        return records.getFloat(offset(index) + 8);
+    }
+
+    public int zoneAt(int index) {
+        return records.getInt(offset(index) + 12);
+    }
+
+    private static int offset(int index) {
+        return ZipGazetteerCompiler.HEADER_BYTES + index * ZipGazetteerCompiler.RECORD_BYTES;
+    }
+
+    /**
+     * The five-digit zip as an int, ignoring a "-1234" suffix, or -1 if malformed.
+     */
+    static int parseZip(String zip) {
+        if (zip == null) {
+            return -1;
+        }
+        int start = 0;
+        int end = zip.length();
+        while (start < end && zip.charAt(start) == ' ') {
+            start++;
+        }
+        if (end - start < 5) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + 5; i++) {
+            char c = zip.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        int next = start + 5;
+        if (next < end && zip.charAt(next) != '-' && zip.charAt(next) != ' ') {
+            return -1;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,148 @@
+package com.tastetrack.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Compiles a zip code CSV into the binary file read by {@link ZipGazetteer}.
+ *
+ * The CSV has one "zip,lat,lng,zone" line per zip code; a header line and blank lines
+ * are skipped. The output is a fixed header followed by 16-byte records sorted by zip:
+ *
+ * <pre>
+ *   header:  int magic, int version, int count, int reserved, long sourceModified, long sourceSize
+ *   record:  int zip, float latitude, float longitude, int zone
+ * </pre>
+ *
+ * The source's modification time and size are stored so a restart can tell whether
+ * the compiled file is still current without reading the CSV.
+ */
+public final class ZipGazetteerCompiler {
+    static final int MAGIC = 0x5A495047; // "ZIPG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 16;
+
+    private ZipGazetteerCompiler() {
+    }
+
+    /**
+     * True if target is missing or was compiled from a different version of source.
+     */
+    public static boolean isStale(Path source, Path target) throws IOException {
+        if (!Files.exists(target)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            if (channel.read(header, 0) < HEADER_BYTES) {
+                return true;
+            }
+            header.flip();
+            return header.getInt(0) != MAGIC
+                    || header.getInt(4) != VERSION
+                    || header.getLong(16) != Files.getLastModifiedTime(source).toMillis()
+                    || header.getLong(24) != Files.size(source);
+        }
+    }
+
+    /**
+     * Parse source and atomically replace target with the compiled file.
+     * Returns the number of zip codes written.
+     */
+    public static int compile(Path source, Path target) throws IOException {
+        int[] zips = new int[1024];
+        float[] latitudes = new float[1024];
+        float[] longitudes = new float[1024];
+        int[] zones = new int[1024];
+        int count = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && !Character.isDigit(line.trim().charAt(0)))) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 4) {
+                    throw new IOException("Expected zip,lat,lng,zone on line " + lineNumber + " of " + source);
+                }
+                int zip = ZipGazetteer.parseZip(fields[0].trim());
+                if (zip < 0) {
+                    throw new IOException("Invalid zip code on line " + lineNumber + " of " + source);
+                }
+                if (count == zips.length) {
+                    zips = Arrays.copyOf(zips, count * 2);
+                    latitudes = Arrays.copyOf(latitudes, count * 2);
+                    longitudes = Arrays.copyOf(longitudes, count * 2);
+                    zones = Arrays.copyOf(zones, count * 2);
+                }
+                try {
+                    zips[count] = zip;
+                    latitudes[count] = Float.parseFloat(fields[1].trim());
+                    longitudes[count] = Float.parseFloat(fields[2].trim());
+                    zones[count] = Integer.parseInt(fields[3].trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid number on line " + lineNumber + " of " + source);
+                }
+                count++;
+            }
+        }
+
+        // Stable sort of record indexes by zip, so a repeated zip keeps its first line
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] sortZips = zips;
+        Arrays.sort(order, Comparator.comparingInt(i -> sortZips[i]));
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * RECORD_BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.position(HEADER_BYTES);
+        int written = 0;
+        int previous = -1;
+        for (int index : order) {
+            if (zips[index] == previous) {
+                continue;
+            }
+            previous = zips[index];
+            buffer.putInt(zips[index]);
+            buffer.putFloat(latitudes[index]);
+            buffer.putFloat(longitudes[index]);
+            buffer.putInt(zones[index]);
+            written++;
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, written);
+        buffer.putInt(12, 0);
+        buffer.putLong(16, Files.getLastModifiedTime(source).toMillis());
+        buffer.putLong(24, Files.size(source));
+        buffer.limit(HEADER_BYTES + written * RECORD_BYTES);
+        buffer.position(0);
+
+        Path absoluteTarget = target.toAbsolutePath();
+        Files.createDirectories(absoluteTarget.getParent());
+        Path temp = Files.createTempFile(absoluteTarget.getParent(), absoluteTarget.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+}
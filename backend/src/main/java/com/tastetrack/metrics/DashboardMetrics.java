@@ -0,0 +1,173 @@
+package com.tastetrack.metrics;
+
+import com.tastetrack.dto.DashboardSummary;
+import com.tastetrack.dto.RestaurantRevenue;
+import com.tastetrack.entity.Order;
+import com.tastetrack.event.OrderEvent;
+import com.tastetrack.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admin dashboard figures kept up to date in memory from {@link OrderEvent}s: orders per
+ * status, and order count and revenue overall, for today and per restaurant.
+ *
+ * Every figure is a {@link LongAdder} (money in cents), so concurrent checkouts update
+ * them without contending on one counter, and a summary only sums a few adders instead
+ * of scanning orders. Cancelled orders count towards their status but not towards
+ * revenue; an order leaving CANCELLED counts again. Today is the server's local day and
+ * starts from zero at midnight.
+ *
+ * Everything is rebuilt from the database at startup with three aggregate queries.
+ * Orders that change while that runs may be counted once too often or too rarely.
+ */
+@Component
+public class DashboardMetrics {
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Map<Order.OrderStatus, LongAdder> byStatus = new EnumMap<>(Order.OrderStatus.class);
+    private final Totals overall = new Totals();
+    private final ConcurrentHashMap<Long, Totals> restaurants = new ConcurrentHashMap<>();
+    private final AtomicReference<DayTotals> today = new AtomicReference<>(new DayTotals(LocalDate.now()));
+
+    public DashboardMetrics() {
+        // Filled once; the map itself is never modified afterwards
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long orders = 0;
+        for (Object[] row : orderRepository.countOrdersByStatus()) {
+            long count = (Long) row[1];
+            byStatus.get((Order.OrderStatus) row[0]).add(count);
+            orders += count;
+        }
+        for (Object[] row : orderRepository.sumTotalsByRestaurant(Order.OrderStatus.CANCELLED)) {
+            long count = (Long) row[1];
+            long cents = cents(row[2]);
+            restaurant((Long) row[0]).add(count, cents);
+            overall.add(count, cents);
+        }
+        DayTotals day = today();
+        for (Object[] row : orderRepository.sumTotalsSince(day.date.atStartOfDay(), Order.OrderStatus.CANCELLED)) {
+            day.add((Long) row[0], cents(row[1]));
+        }
+        System.out.println("Dashboard metrics restored from " + orders + " orders");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Order.OrderStatus previous = event.getType() == OrderEvent.Type.PLACED ? null : event.getPreviousStatus();
+        if (previous != null) {
+            byStatus.get(previous).decrement();
+        }
+        byStatus.get(event.getStatus()).increment();
+
+        boolean counted = previous != null && previous != Order.OrderStatus.CANCELLED;
+        boolean counts = event.getStatus() != Order.OrderStatus.CANCELLED;
+        if (counted == counts) {
+            return;
+        }
+        int sign = counts ? 1 : -1;
+        long cents = sign * Math.round(event.getTotal() * 100);
+        overall.add(sign, cents);
+        restaurant(event.getRestaurantId()).add(sign, cents);
+        DayTotals day = today();
+        if (event.getOrderDate() != null && event.getOrderDate().toLocalDate().equals(day.date)) {
+            day.add(sign, cents);
+        }
+    }
+
+    /**
+     * Current figures, with the top restaurants by revenue.
+     */
+    public DashboardSummary summary(int topRestaurants) {
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        byStatus.forEach((status, count) -> statuses.put(status.name(), count.sum()));
+
+        // Keep only the best topRestaurants while walking the restaurants
+        PriorityQueue<RestaurantRevenue> top = new PriorityQueue<>(
+                Comparator.comparingDouble(RestaurantRevenue::getRevenue));
+        if (topRestaurants > 0) {
+            restaurants.forEach((id, totals) -> {
+                long orders = totals.orders.sum();
+                long cents = totals.cents.sum();
+                top.add(new RestaurantRevenue(id, orders, cents / 100.0, average(cents, orders)));
+                if (top.size() > topRestaurants) {
+                    top.poll();
+                }
+            });
+        }
+        List<RestaurantRevenue> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingDouble(RestaurantRevenue::getRevenue).reversed());
+
+        long orders = overall.orders.sum();
+        long cents = overall.cents.sum();
+        DayTotals day = today();
+        long ordersToday = day.orders.sum();
+        long centsToday = day.cents.sum();
+        return new DashboardSummary(statuses, orders, cents / 100.0, average(cents, orders),
+                ordersToday, centsToday / 100.0, average(centsToday, ordersToday),
+                ranked, System.currentTimeMillis());
+    }
+
+    private DayTotals today() {
+        LocalDate date = LocalDate.now();
+        DayTotals current = today.get();
+        if (current.date.equals(date)) {
+            return current;
+        }
+        // First caller after midnight starts the new day; the others pick up its totals
+        DayTotals next = new DayTotals(date);
+        return today.compareAndSet(current, next) ? next : today.get();
+    }
+
+    private Totals restaurant(Long restaurantId) {
+        return restaurants.computeIfAbsent(restaurantId, id -> new Totals());
+    }
+
+    private static long cents(Object sum) {
+        return sum == null ? 0 : Math.round(((Number) sum).doubleValue());
+    }
+
+    private static double average(long cents, long orders) {
+        return orders == 0 ? 0.0 : Math.round((double) cents / orders) / 100.0;
+    }
+
+    private static class Totals {
+        final LongAdder orders = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        void add(long count, long amount) {
+            orders.add(count);
+            cents.add(amount);
+        }
+    }
+
+    private static final class DayTotals extends Totals {
+        final LocalDate date;
+
+        DayTotals(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
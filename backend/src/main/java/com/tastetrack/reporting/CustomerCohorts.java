@@ -0,0 +1,269 @@
+package com.tastetrack.reporting;
+
+import com.tastetrack.dto.CohortReport;
+import com.tastetrack.dto.CohortRow;
+import com.tastetrack.event.OrderEvent;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cohort and retention figures over customers, answered from compressed bitmaps of user
+ * ids instead of joining users and orders.
+ *
+ * Each day has a bitmap of the customers who signed up, one of the customers who placed
+ * an order, and one per restaurant of the customers who ordered there; a week is the
+ * union of its days. A cohort is the customers who signed up in a period, or whose first
+ * order (at the restaurant, if one is given) falls in it. How many of them ordered k
+ * periods later is the cardinality of the cohort ANDed with that period's bitmap, so a
+ * report costs a few bitmap operations per cell however many orders there are.
+ *
+ * The bitmaps are built at startup by walking users and orders by id, then updated on
+ * every customer signup and placed order. Adding an id is idempotent, so orders placed
+ * while the build runs are never counted twice. An order counts from the moment it is
+ * placed, even if it is cancelled later. Ids must fit in an int.
+ */
+@Component
+public class CustomerCohorts {
+    private static final int RESTORE_CHUNK = 50_000;
+    private static final int MAX_COHORTS = 104;
+    private static final int MAX_PERIODS = 104;
+    private static final TreeMap<LocalDate, RoaringBitmap> NONE = new TreeMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Guards every bitmap below; writers hold it for one id (or one restore chunk)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<LocalDate, RoaringBitmap> signups = new TreeMap<>();
+    private final TreeMap<LocalDate, RoaringBitmap> ordered = new TreeMap<>();
+    private final Map<Long, TreeMap<LocalDate, RoaringBitmap>> orderedAt = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long users = restoreSignups();
+        long orders = restoreOrders();
+        long bytes = 0;
+        lock.writeLock().lock();
+        try {
+            // Past days no longer change, so store runs of consecutive ids compactly
+            List<TreeMap<LocalDate, RoaringBitmap>> maps = new ArrayList<>(orderedAt.values());
+            maps.add(signups);
+            maps.add(ordered);
+            for (TreeMap<LocalDate, RoaringBitmap> days : maps) {
+                for (RoaringBitmap bitmap : days.values()) {
+                    bitmap.runOptimize();
+                    bytes += bitmap.getSizeInBytes();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        System.out.println("Customer cohorts restored from " + users + " customers and " + orders
+                + " orders (" + bytes / 1024 + " KB of bitmaps)");
+    }
+
+    private long restoreSignups() {
+        long last = 0;
+        long total = 0;
+        while (true) {
+            int[] ids = new int[RESTORE_CHUNK];
+            LocalDate[] days = new LocalDate[RESTORE_CHUNK];
+            long[] cursor = {last, 0};
+            jdbcTemplate.query("SELECT id, created_at FROM users WHERE id > ? AND role = 'CUSTOMER' ORDER BY id LIMIT ?",
+                    rs -> {
+                        int i = (int) cursor[1]++;
+                        cursor[0] = rs.getLong(1);
+                        ids[i] = toInt(cursor[0]);
+                        days[i] = rs.getTimestamp(2) != null ? rs.getTimestamp(2).toLocalDateTime().toLocalDate() : null;
+                    }, last, RESTORE_CHUNK);
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < cursor[1]; i++) {
+                    if (days[i] != null) {
+                        day(signups, days[i]).add(ids[i]);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            total += cursor[1];
+            if (cursor[1] < RESTORE_CHUNK) {
+                return total;
+            }
+            last = cursor[0];
+        }
+    }
+
+    private long restoreOrders() {
+        long last = 0;
+        long total = 0;
+        while (true) {
+            int[] users = new int[RESTORE_CHUNK];
+            long[] restaurants = new long[RESTORE_CHUNK];
+            LocalDate[] days = new LocalDate[RESTORE_CHUNK];
+            long[] cursor = {last, 0};
+            jdbcTemplate.query("SELECT id, user_id, restaurant_id, order_date FROM orders WHERE id > ? ORDER BY id LIMIT ?",
+                    rs -> {
+                        int i = (int) cursor[1]++;
+                        cursor[0] = rs.getLong(1);
+                        users[i] = toInt(rs.getLong(2));
+                        restaurants[i] = rs.getLong(3);
+                        days[i] = rs.getTimestamp(4).toLocalDateTime().toLocalDate();
+                    }, last, RESTORE_CHUNK);
+            lock.writeLock().lock();
+            try {
+                // Orders come roughly by date, so the day's bitmap rarely changes between rows
+                RoaringBitmap day = null;
+                for (int i = 0; i < cursor[1]; i++) {
+                    if (i == 0 || !days[i].equals(days[i - 1])) {
+                        day = day(ordered, days[i]);
+                    }
+                    day.add(users[i]);
+                    day(orderedAt.computeIfAbsent(restaurants[i], id -> new TreeMap<>()), days[i]).add(users[i]);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            total += cursor[1];
+            if (cursor[1] < RESTORE_CHUNK) {
+                return total;
+            }
+            last = cursor[0];
+        }
+    }
+
+    /**
+     * Count a customer who just signed up in today's signup cohort
+     */
+    public void recordSignup(Long userId) {
+        int id = toInt(userId);
+        lock.writeLock().lock();
+        try {
+            day(signups, LocalDate.now()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEvent.Type.PLACED) {
+            return;
+        }
+        int user = toInt(event.getUserId());
+        LocalDate date = event.getOrderDate() != null ? event.getOrderDate().toLocalDate() : LocalDate.now();
+        lock.writeLock().lock();
+        try {
+            day(ordered, date).add(user);
+            day(orderedAt.computeIfAbsent(event.getRestaurantId(), id -> new TreeMap<>()), date).add(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retention of the cohorts starting between two days (both included, widened to whole
+     * weeks), followed for up to the given number of periods. Cohorts are signup cohorts
+     * unless byFirstOrder; with a restaurant only orders there count.
+     */
+    public CohortReport cohorts(boolean weekly, LocalDate from, LocalDate to, int periods,
+                                Long restaurantId, boolean byFirstOrder) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("to must not be before from");
+        }
+        if (periods < 1 || periods > MAX_PERIODS) {
+            throw new RuntimeException("periods must be between 1 and " + MAX_PERIODS);
+        }
+        int length = weekly ? 7 : 1;
+        if (weekly) {
+            from = from.with(DayOfWeek.MONDAY);
+            to = to.with(DayOfWeek.MONDAY);
+        }
+        int cohortCount = (int) (ChronoUnit.DAYS.between(from, to) / length) + 1;
+        if (cohortCount > MAX_COHORTS) {
+            throw new RuntimeException("At most " + MAX_COHORTS + " cohorts per report");
+        }
+        // Periods from the first cohort up to the current one; later ones have no orders yet
+        long current = ChronoUnit.DAYS.between(from, LocalDate.now()) / length + 1;
+        int horizon = (int) Math.max(0, Math.min(cohortCount + periods - 1, current));
+
+        // Copy out the unions under the read lock; everything after works on private bitmaps
+        RoaringBitmap[] activity = new RoaringBitmap[horizon];
+        RoaringBitmap[] cohorts = new RoaringBitmap[cohortCount];
+        RoaringBitmap before;
+        lock.readLock().lock();
+        try {
+            TreeMap<LocalDate, RoaringBitmap> days = restaurantId == null
+                    ? ordered : orderedAt.getOrDefault(restaurantId, NONE);
+            for (int p = 0; p < horizon; p++) {
+                activity[p] = union(days, from.plusDays((long) p * length), length);
+            }
+            before = byFirstOrder ? FastAggregation.or(days.headMap(from, false).values().iterator()) : null;
+            for (int c = 0; !byFirstOrder && c < cohortCount; c++) {
+                cohorts[c] = union(signups, from.plusDays((long) c * length), length);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CohortRow> rows = new ArrayList<>(cohortCount);
+        for (int c = 0; c < cohortCount; c++) {
+            RoaringBitmap cohort = cohorts[c];
+            if (byFirstOrder) {
+                // Customers first seen in this period; then they count as seen
+                cohort = c < horizon ? RoaringBitmap.andNot(activity[c], before) : new RoaringBitmap();
+                if (c < horizon) {
+                    before.or(activity[c]);
+                }
+            }
+            List<Integer> retained = new ArrayList<>();
+            RoaringBitmap once = new RoaringBitmap();
+            RoaringBitmap twice = new RoaringBitmap();
+            for (int k = 0; k < periods && c + k < horizon; k++) {
+                RoaringBitmap active = RoaringBitmap.and(cohort, activity[c + k]);
+                retained.add(active.getCardinality());
+                twice.or(RoaringBitmap.and(once, active));
+                once.or(active);
+            }
+            rows.add(new CohortRow(from.plusDays((long) c * length), cohort.getCardinality(), retained,
+                    twice.getCardinality()));
+        }
+        return new CohortReport(weekly ? "week" : "day", byFirstOrder ? "firstOrder" : "signup", restaurantId,
+                from, to, periods, rows, ready);
+    }
+
+    private static RoaringBitmap union(NavigableMap<LocalDate, RoaringBitmap> days, LocalDate start, int length) {
+        return FastAggregation.or(days.subMap(start, true, start.plusDays(length), false).values().iterator());
+    }
+
+    private static RoaringBitmap day(TreeMap<LocalDate, RoaringBitmap> days, LocalDate date) {
+        return days.computeIfAbsent(date, d -> new RoaringBitmap());
+    }
+
+    private static int toInt(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalStateException("User id " + id + " does not fit in a cohort bitmap");
+        }
+        return (int) id;
+    }
+}
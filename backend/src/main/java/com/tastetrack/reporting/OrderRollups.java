@@ -0,0 +1,245 @@
+package com.tastetrack.reporting;
+
+import com.tastetrack.dto.TimeSeries;
+import com.tastetrack.dto.TimeSeriesPoint;
+import com.tastetrack.entity.Order;
+import com.tastetrack.event.OrderEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hourly and daily totals of delivered orders per restaurant and payment method, kept in
+ * order_rollup_hourly and order_rollup_daily so reports never group the orders table.
+ *
+ * Orders are bucketed by when they were placed. An order is added when it becomes
+ * DELIVERED and taken out again if it leaves DELIVERED, in the transaction that changes
+ * its status, with an INSERT ... ON DUPLICATE KEY UPDATE per table. orders.rolled_up
+ * records whether an order is counted; it only flips through a conditional UPDATE, so
+ * however the status change and the backfill interleave, each order is added once.
+ *
+ * The backfill adds orders delivered before this existed. It walks orders by id up to
+ * the highest id at its start, rollups.backfill-chunk-size orders per transaction every
+ * rollups.backfill-interval-ms, and stores its position in rollup_state to resume
+ * after a restart. Reports read the rollups alone and say whether the backfill is done.
+ */
+@Service
+public class OrderRollups {
+    private static final String BACKFILL = "orders";
+    private static final String UNKNOWN_PAYMENT = "UNKNOWN";
+    private static final int MAX_HOURLY_DAYS = 92;
+    private static final int MAX_DAILY_DAYS = 3660;
+    private static final String[] TABLES = {"order_rollup_hourly", "order_rollup_daily"};
+    private static final String UPSERT_SQL =
+            " (bucket_start, restaurant_id, payment_method, orders, revenue_cents) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE orders = orders + VALUES(orders), revenue_cents = revenue_cents + VALUES(revenue_cents)";
+    private static final String CHUNK_SQL =
+            "SELECT o.id, o.order_date, o.restaurant_id, o.total, p.payment_method FROM orders o " +
+            "LEFT JOIN payments p ON p.order_id = o.id " +
+            "WHERE o.id > ? AND o.id <= ? AND o.status = 'DELIVERED' AND o.rolled_up = FALSE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${rollups.backfill-chunk-size:2000}")
+    private int chunkSize;
+
+    // Set once the backfill has finished, after which the scheduled task does nothing
+    private volatile boolean backfilled;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        boolean delivered = event.getStatus() == Order.OrderStatus.DELIVERED;
+        boolean wasDelivered = event.getPreviousStatus() == Order.OrderStatus.DELIVERED;
+        if (event.getType() != OrderEvent.Type.STATUS_CHANGED || delivered == wasDelivered) {
+            return;
+        }
+        int flipped = jdbcTemplate.update("UPDATE orders SET rolled_up = ? WHERE id = ? AND rolled_up = ?",
+                delivered, event.getOrderId(), !delivered);
+        if (flipped == 0) {
+            // Delivered before the rollups existed and not backfilled yet: nothing to take out
+            return;
+        }
+        int sign = delivered ? 1 : -1;
+        Bucket bucket = new Bucket(event.getOrderDate(), event.getRestaurantId(),
+                event.getPaymentMethod() != null ? event.getPaymentMethod().name() : UNKNOWN_PAYMENT);
+        upsert(Map.of(bucket, new long[]{sign, sign * Math.round(event.getTotal() * 100)}));
+    }
+
+    @Scheduled(fixedDelayString = "${rollups.backfill-interval-ms:500}")
+    public void backfill() {
+        if (backfilled) {
+            return;
+        }
+        boolean done = new TransactionTemplate(transactionManager).execute(status -> backfillChunk());
+        if (done) {
+            backfilled = true;
+            System.out.println("Order rollup backfill complete");
+        }
+    }
+
+    /**
+     * Roll up the next chunk of order ids; true once there is nothing left to do.
+     */
+    private boolean backfillChunk() {
+        List<Map<String, Object>> state = jdbcTemplate.queryForList(
+                "SELECT last_order_id, target_order_id, completed_at FROM rollup_state WHERE name = ? FOR UPDATE", BACKFILL);
+        long last;
+        long target;
+        if (state.isEmpty()) {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+            last = 0;
+            target = max != null ? max : 0;
+            jdbcTemplate.update("INSERT INTO rollup_state (name, last_order_id, target_order_id) VALUES (?, ?, ?)",
+                    BACKFILL, last, target);
+            System.out.println("Order rollup backfill started for orders up to " + target);
+        } else {
+            if (state.get(0).get("completed_at") != null) {
+                return true;
+            }
+            last = ((Number) state.get(0).get("last_order_id")).longValue();
+            target = ((Number) state.get(0).get("target_order_id")).longValue();
+        }
+        if (last >= target) {
+            jdbcTemplate.update("UPDATE rollup_state SET completed_at = ? WHERE name = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), BACKFILL);
+            return true;
+        }
+
+        // The chunk ends after the next chunkSize existing ids, so gaps in ids cost nothing
+        List<Long> bound = jdbcTemplate.queryForList("SELECT id FROM orders WHERE id > ? ORDER BY id LIMIT 1 OFFSET ?",
+                Long.class, last, chunkSize - 1);
+        long end = bound.isEmpty() ? target : Math.min(target, bound.get(0));
+        List<Object[]> rows = jdbcTemplate.query(CHUNK_SQL, (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getLong(3),
+                Math.round(rs.getDouble(4) * 100), rs.getString(5)}, last, end);
+        if (!rows.isEmpty()) {
+            List<Object[]> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add(new Object[]{row[0]});
+            }
+            // Orders whose status changed meanwhile fail the condition and are left to that change
+            int[] flipped = jdbcTemplate.batchUpdate(
+                    "UPDATE orders SET rolled_up = TRUE WHERE id = ? AND rolled_up = FALSE AND status = 'DELIVERED'", ids);
+            Map<Bucket, long[]> totals = new TreeMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (flipped[i] != 0) {
+                    Object[] row = rows.get(i);
+                    Bucket bucket = new Bucket((LocalDateTime) row[1], (Long) row[2],
+                            row[4] != null ? (String) row[4] : UNKNOWN_PAYMENT);
+                    long[] sum = totals.computeIfAbsent(bucket, key -> new long[2]);
+                    sum[0]++;
+                    sum[1] += (Long) row[3];
+                }
+            }
+            upsert(totals);
+        }
+        jdbcTemplate.update("UPDATE rollup_state SET last_order_id = ? WHERE name = ?", end, BACKFILL);
+        return false;
+    }
+
+    /**
+     * Add [orders, cents] to the hour and day rows of each bucket. Rows are locked hourly
+     * table first and in key order, so concurrent upserts cannot deadlock.
+     */
+    private void upsert(Map<Bucket, long[]> totals) {
+        for (String table : TABLES) {
+            boolean daily = table.equals("order_rollup_daily");
+            List<Object[]> rows = new ArrayList<>(totals.size());
+            Map<Bucket, long[]> merged = new TreeMap<>();
+            totals.forEach((bucket, sum) -> {
+                long[] target = merged.computeIfAbsent(daily ? bucket.day() : bucket.hour(), key -> new long[2]);
+                target[0] += sum[0];
+                target[1] += sum[1];
+            });
+            merged.forEach((bucket, sum) -> rows.add(new Object[]{Timestamp.valueOf(bucket.start()),
+                    bucket.restaurantId(), bucket.paymentMethod(), sum[0], sum[1]}));
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + UPSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Orders and revenue per hour or day between two days (both included), optionally for
+     * one restaurant or payment method, and split by restaurant or payment method.
+     */
+    public TimeSeries timeSeries(boolean hourly, LocalDate from, LocalDate to, Long restaurantId,
+                                 String paymentMethod, String groupBy) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("to must not be before from");
+        }
+        int maxDays = hourly ? MAX_HOURLY_DAYS : MAX_DAILY_DAYS;
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new RuntimeException("At most " + maxDays + " days per " + (hourly ? "hourly" : "daily") + " report");
+        }
+        String key = switch (groupBy == null ? "" : groupBy) {
+            case "" -> null;
+            case "restaurant" -> "restaurant_id";
+            case "paymentMethod" -> "payment_method";
+            default -> throw new RuntimeException("groupBy must be restaurant or paymentMethod");
+        };
+
+        StringBuilder sql = new StringBuilder("SELECT bucket_start, ")
+                .append(key != null ? key : "NULL")
+                .append(", SUM(orders), SUM(revenue_cents) FROM ")
+                .append(hourly ? "order_rollup_hourly" : "order_rollup_daily")
+                .append(" WHERE bucket_start >= ? AND bucket_start < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(from.atStartOfDay()));
+        args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        if (restaurantId != null) {
+            sql.append(" AND restaurant_id = ?");
+            args.add(restaurantId);
+        }
+        if (paymentMethod != null) {
+            sql.append(" AND payment_method = ?");
+            args.add(paymentMethod);
+        }
+        sql.append(" GROUP BY bucket_start").append(key != null ? ", " + key : "")
+                .append(" ORDER BY bucket_start").append(key != null ? ", " + key : "");
+
+        List<TimeSeriesPoint> points = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long orders = rs.getLong(3);
+            long cents = rs.getLong(4);
+            return new TimeSeriesPoint(rs.getTimestamp(1).toLocalDateTime(), rs.getString(2), orders,
+                    cents / 100.0, orders == 0 ? 0.0 : Math.round((double) cents / orders) / 100.0);
+        }, args.toArray());
+        return new TimeSeries(hourly ? "hour" : "day", from, to, points, backfilled);
+    }
+
+    private record Bucket(LocalDateTime start, Long restaurantId, String paymentMethod) implements Comparable<Bucket> {
+        Bucket hour() {
+            return new Bucket(start.truncatedTo(ChronoUnit.HOURS), restaurantId, paymentMethod);
+        }
+
+        Bucket day() {
+            return new Bucket(start.truncatedTo(ChronoUnit.DAYS), restaurantId, paymentMethod);
+        }
+
+        @Override
+        public int compareTo(Bucket other) {
+            int result = start.compareTo(other.start);
+            if (result == 0) {
+                result = restaurantId.compareTo(other.restaurantId);
+            }
+            return result != 0 ? result : paymentMethod.compareTo(other.paymentMethod);
+        }
+    }
+}
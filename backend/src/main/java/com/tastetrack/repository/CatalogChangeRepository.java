@@ -0,0 +1,43 @@
+package com.tastetrack.repository;
+
+import com.tastetrack.entity.CatalogChange;
+import com.tastetrack.entity.CatalogChange.EntityType;
+import com.tastetrack.entity.CatalogChange.Operation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+    List<CatalogChange> findByIdGreaterThanOrderByIdAsc(Long since, Pageable pageable);
+
+    @Query("SELECT MAX(c.id) FROM CatalogChange c WHERE c.changedAt < :before")
+    Long findMaxIdBefore(@Param("before") LocalDateTime before);
+
+    @Query("SELECT MAX(c.id) FROM CatalogChange c WHERE c.operation = :operation")
+    Long findMaxIdByOperation(@Param("operation") Operation operation);
+
+    @Query("SELECT MAX(c.entityId) FROM CatalogChange c WHERE c.operation = :operation")
+    Long findMaxEntityIdByOperation(@Param("operation") Operation operation);
+
+    /**
+     * Ids of changes to entities of the given types followed by a later change of the same entity.
+     */
+    @Query("SELECT c.id FROM CatalogChange c WHERE c.entityType IN :types " +
+           "AND EXISTS (SELECT n.id FROM CatalogChange n " +
+           "WHERE n.entityType = c.entityType AND n.entityId = c.entityId AND n.id > c.id)")
+    List<Long> findSupersededIds(@Param("types") Collection<EntityType> types, Pageable pageable);
+
+    @Query("SELECT c.id FROM CatalogChange c WHERE c.id < :id")
+    List<Long> findIdsBelow(@Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT c.id FROM CatalogChange c WHERE c.operation = :operation AND c.changedAt < :before")
+    List<Long> findIdsByOperationBefore(@Param("operation") Operation operation,
+                                        @Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.tastetrack.repository;
+
+import com.tastetrack.entity.Courier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourierRepository extends JpaRepository<Courier, Long> {
+}
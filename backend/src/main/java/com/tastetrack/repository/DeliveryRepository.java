@@ -1,12 +1,23 @@
 package com.tastetrack.repository;
 
 import com.tastetrack.entity.Delivery;
+import com.tastetrack.entity.Order.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     Optional<Delivery> findByOrderId(Long orderId);
+
+    /**
+     * Rows of [orderId, restaurantId, deliveryZip, courierId, status] for orders in the given statuses.
+     */
+    @Query("SELECT o.id, o.restaurant.id, d.deliveryZip, d.courierId, o.status " +
+           "FROM Delivery d JOIN d.order o WHERE o.status IN :statuses")
+    List<Object[]> findDispatchRows(@Param("statuses") List<OrderStatus> statuses);
 }
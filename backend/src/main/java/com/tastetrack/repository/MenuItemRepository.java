@@ -1,16 +1,24 @@
 package com.tastetrack.repository;
 
 import com.tastetrack.entity.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuItem> findByRestaurantId(Long restaurantId);
     
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
     
     List<MenuItem> findByCategory(String category);
+
+    @Query("SELECT DISTINCT m.restaurantId FROM MenuItem m WHERE m.isVeg = true")
+    List<Long> findRestaurantIdsWithVegItems();
 }
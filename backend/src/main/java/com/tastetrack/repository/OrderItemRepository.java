@@ -1,12 +1,27 @@
 package com.tastetrack.repository;
 
+import com.tastetrack.dto.OrderItemView;
 import com.tastetrack.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    /**
+     * Read views of the items of the given orders, each carrying its order id.
+     */
+    @Query("SELECT new com.tastetrack.dto.OrderItemView(oi.order.id, oi.id, oi.quantity, oi.price, " +
+           "m.id, m.name, m.image, m.isVeg) " +
+           "FROM OrderItem oi JOIN oi.menuItem m WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItemView> findViewsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT oi.menuItem.id, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.menuItem.id")
+    List<Object[]> sumQuantityByMenuItem();
 }
@@ -1,13 +1,17 @@
 package com.tastetrack.repository;
 
+import com.tastetrack.dto.OrderView;
 import com.tastetrack.entity.Order;
 import com.tastetrack.entity.Order.OrderStatus;
 import com.tastetrack.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,40 +19,84 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
 
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "LEFT JOIN FETCH o.restaurant " +
-           "LEFT JOIN FETCH o.items oi " +
-           "LEFT JOIN FETCH oi.menuItem " +
-           "WHERE o.user.id = :userId " +
-           "ORDER BY o.orderDate DESC")
-    List<Order> findByUserIdOrderByOrderDateDesc(@Param("userId") Long userId);
+    /**
+     * Rows of [orderId, orderDate] for the user's most recent orders, newest first.
+     * A range scan of idx_order_user_date.
+     */
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE o.user.id = :userId " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findUserOrderKeys(@Param("userId") Long userId, Pageable pageable);
 
-    List<Order> findByStatus(OrderStatus status);
+    /**
+     * Like {@link #findUserOrderKeys}, for the orders that come after (orderDate, id).
+     */
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id)) " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findUserOrderKeysAfter(@Param("userId") Long userId, @Param("orderDate") LocalDateTime orderDate,
+                                          @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findIdsByStatus(@Param("status") OrderStatus status);
 
     @Query("SELECT o FROM Order o WHERE o.user = :user AND o.status IN :statuses")
     List<Order> findByUserAndStatusIn(User user, List<OrderStatus> statuses);
 
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "LEFT JOIN FETCH o.restaurant " +
-           "LEFT JOIN FETCH o.items oi " +
-           "LEFT JOIN FETCH oi.menuItem " +
-           "WHERE o.orderNumber = :orderNumber")
-    Optional<Order> findByOrderNumber(@Param("orderNumber") String orderNumber);
-
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "LEFT JOIN FETCH o.restaurant " +
-           "LEFT JOIN FETCH o.items oi " +
-           "LEFT JOIN FETCH oi.menuItem " +
-           "WHERE o.id = :id")
-    Optional<Order> findByIdWithDetails(@Param("id") Long id);
-
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "LEFT JOIN FETCH o.restaurant " +
-           "LEFT JOIN FETCH o.items oi " +
-           "LEFT JOIN FETCH oi.menuItem " +
-           "WHERE o.restaurant.id = :restaurantId " +
-           "ORDER BY o.orderDate DESC")
-    List<Order> findByRestaurantIdOrderByOrderDateDesc(@Param("restaurantId") Long restaurantId);
+    @Query("SELECT o.id FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<Long> findIdByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findIdsByRestaurantId(@Param("restaurantId") Long restaurantId);
 
     List<Order> findByRestaurantId(Long restaurantId);
+
+    /**
+     * Rows of [orderId, changeVersion] for the restaurant's orders changed after since,
+     * oldest change first. A range scan of idx_order_restaurant_change.
+     */
+    @Query("SELECT o.id, o.changeVersion FROM Order o " +
+           "WHERE o.restaurant.id = :restaurantId AND o.changeVersion > :since " +
+           "ORDER BY o.changeVersion")
+    List<Object[]> findChangedIds(@Param("restaurantId") Long restaurantId, @Param("since") long since, Pageable pageable);
+
+    /**
+     * Read views of the given orders without their items, in no particular order. One
+     * query with to-one joins, selecting only the columns the view holds.
+     */
+    @Query("SELECT new com.tastetrack.dto.OrderView(o.id, o.orderNumber, o.status, o.total, o.deliveryAddress, " +
+           "o.orderDate, o.estimatedDelivery, o.changeVersion, r.id, r.name, r.address, r.image, " +
+           "u.id, u.firstName, u.lastName, p.paymentMethod, p.status, d.status) " +
+           "FROM Order o JOIN o.restaurant r JOIN o.user u LEFT JOIN o.payment p LEFT JOIN o.delivery d " +
+           "WHERE o.id IN :ids")
+    List<OrderView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MAX(o.changeVersion) FROM Order o")
+    Long findMaxChangeVersion();
+
+    @Query("SELECT o.restaurant.id, COUNT(o) FROM Order o GROUP BY o.restaurant.id")
+    List<Object[]> countOrdersByRestaurant();
+
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countOrdersByStatus();
+
+    /**
+     * Rows of [restaurantId, orders, total in cents] over orders not in the excluded status.
+     */
+    @Query("SELECT o.restaurant.id, COUNT(o), SUM(ROUND(o.total * 100, 0)) FROM Order o " +
+           "WHERE o.status <> :excluded GROUP BY o.restaurant.id")
+    List<Object[]> sumTotalsByRestaurant(@Param("excluded") OrderStatus excluded);
+
+    /**
+     * One row of [orders, total in cents] over orders placed since the given time and not
+     * in the excluded status.
+     */
+    @Query("SELECT COUNT(o), SUM(ROUND(o.total * 100, 0)) FROM Order o " +
+           "WHERE o.orderDate >= :since AND o.status <> :excluded")
+    List<Object[]> sumTotalsSince(@Param("since") LocalDateTime since, @Param("excluded") OrderStatus excluded);
+
+    /**
+     * Rows of [orderId, restaurantId, orderDate, status] for orders in the given statuses.
+     */
+    @Query("SELECT o.id, o.restaurant.id, o.orderDate, o.status FROM Order o WHERE o.status IN :statuses")
+    List<Object[]> findProgressRows(@Param("statuses") List<OrderStatus> statuses);
 }
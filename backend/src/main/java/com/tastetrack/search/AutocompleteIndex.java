@@ -0,0 +1,300 @@
+package com.tastetrack.search;
+
+import com.tastetrack.dto.AutocompleteSuggestion;
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.repository.OrderItemRepository;
+import com.tastetrack.repository.OrderRepository;
+import com.tastetrack.repository.RestaurantRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prefix autocomplete over restaurant names, cuisines and menu item names.
+ *
+ * Suggestions are weighted by rating plus log(1 + orders), and every word start of
+ * a phrase is indexed so "piz" also finds "Margherita Pizza". The trie is flattened
+ * into arrays in breadth-first order: a node's children are contiguous and sorted by
+ * character, so lookups binary-search them, and each node carries its precomputed
+ * top suggestions. A request therefore walks at most prefix-length nodes and copies
+ * a handful of results, with no database access.
+ *
+ * The trie is immutable and replaced wholesale by a background rebuild, scheduled a
+ * few seconds after catalog changes (so bursts of edits collapse into one rebuild)
+ * and periodically to pick up order popularity.
+ */
+@Component
+public class AutocompleteIndex {
+    private static final int TOP_K = 8;
+    private static final long REBUILD_DELAY_SECONDS = 2;
+    private static final long REFRESH_INTERVAL_MINUTES = 10;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Trie trie = Trie.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::rebuild);
+        executor.scheduleWithFixedDelay(this::rebuild, REFRESH_INTERVAL_MINUTES, REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            }, REBUILD_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public List<AutocompleteSuggestion> suggest(String prefix, int limit) {
+        return trie.suggest(normalize(prefix), limit);
+    }
+
+    void rebuild() {
+        try {
+            Map<Long, Long> restaurantOrders = toCounts(orderRepository.countOrdersByRestaurant());
+            Map<Long, Long> itemOrders = toCounts(orderItemRepository.sumQuantityByMenuItem());
+
+            List<Entry> entries = new ArrayList<>();
+            Map<String, Double> cuisineWeights = new HashMap<>();
+            Map<String, String> cuisineNames = new HashMap<>();
+            for (Restaurant restaurant : restaurantRepository.findAll()) {
+                double weight = weight(restaurant.getRating(), restaurantOrders.get(restaurant.getId()));
+                entries.add(new Entry(new AutocompleteSuggestion("RESTAURANT", restaurant.getName(), restaurant.getId(), restaurant.getId()), weight));
+                if (restaurant.getCuisine() != null) {
+                    String key = normalize(restaurant.getCuisine());
+                    cuisineWeights.merge(key, weight, Double::sum);
+                    cuisineNames.putIfAbsent(key, restaurant.getCuisine());
+                }
+            }
+            cuisineWeights.forEach((key, weight) ->
+                    entries.add(new Entry(new AutocompleteSuggestion("CUISINE", cuisineNames.get(key), null, null), weight)));
+            // Dishes with the same name at several restaurants collapse into the best-weighted one
+            Map<String, Entry> dishes = new HashMap<>();
+            for (MenuItem item : menuItemRepository.findAll()) {
+                double weight = weight(item.getRating(), itemOrders.get(item.getId()));
+                Entry entry = new Entry(new AutocompleteSuggestion("MENU_ITEM", item.getName(), item.getId(), item.getRestaurantId()), weight);
+                dishes.merge(normalize(item.getName()), entry, (a, b) -> a.weight() >= b.weight() ? a : b);
+            }
+            entries.addAll(dishes.values());
+
+            trie = Trie.build(entries);
+        } catch (Exception e) {
+            System.out.println("Autocomplete rebuild failed: " + e.getMessage());
+        }
+    }
+
+    private static double weight(Double rating, Long orders) {
+        return (rating != null ? rating : 0.0) + Math.log1p(orders != null ? orders : 0L);
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private record Entry(AutocompleteSuggestion suggestion, double weight) {
+    }
+
+    /**
+     * Immutable array-backed trie with top-k suggestions per node.
+     */
+    private static final class Trie {
+        static final Trie EMPTY = build(List.of());
+
+        private final char[] labels;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] topOffset;
+        private final int[] topCount;
+        private final int[] top;
+        private final AutocompleteSuggestion[] suggestions;
+
+        private Trie(char[] labels, int[] firstChild, int[] childCount, int[] topOffset, int[] topCount,
+                     int[] top, AutocompleteSuggestion[] suggestions) {
+            this.labels = labels;
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.topOffset = topOffset;
+            this.topCount = topCount;
+            this.top = top;
+            this.suggestions = suggestions;
+        }
+
+        List<AutocompleteSuggestion> suggest(String prefix, int limit) {
+            if (prefix.isEmpty()) {
+                return List.of();
+            }
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = child(node, prefix.charAt(i));
+                if (node < 0) {
+                    return List.of();
+                }
+            }
+            int count = Math.max(0, Math.min(limit, topCount[node]));
+            List<AutocompleteSuggestion> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(suggestions[top[topOffset[node] + i]]);
+            }
+            return results;
+        }
+
+        private int child(int node, char c) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (labels[mid] < c) {
+                    low = mid + 1;
+                } else if (labels[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        static Trie build(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            // Best suggestion first, so a lower index always means a better suggestion
+            sorted.sort((a, b) -> Double.compare(b.weight(), a.weight()));
+            AutocompleteSuggestion[] suggestions = new AutocompleteSuggestion[sorted.size()];
+
+            BuildNode root = new BuildNode();
+            for (int i = 0; i < sorted.size(); i++) {
+                suggestions[i] = sorted.get(i).suggestion();
+                String key = normalize(suggestions[i].getText());
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || key.charAt(start - 1) == ' ') {
+                        root.insert(key, start, i);
+                    }
+                }
+            }
+            root.computeTop();
+
+            // Flatten breadth-first so each node's children occupy a contiguous range
+            List<BuildNode> order = new ArrayList<>();
+            order.add(root);
+            for (int i = 0; i < order.size(); i++) {
+                order.addAll(order.get(i).children.values());
+            }
+
+            int size = order.size();
+            char[] labels = new char[size];
+            int[] firstChild = new int[size];
+            int[] childCount = new int[size];
+            int[] topOffset = new int[size];
+            int[] topCount = new int[size];
+            int totalTop = 0;
+            for (BuildNode node : order) {
+                totalTop += node.top.length;
+            }
+            int[] top = new int[totalTop];
+
+            int nextChild = 1;
+            int nextTop = 0;
+            for (int i = 0; i < size; i++) {
+                BuildNode node = order.get(i);
+                labels[i] = node.label;
+                firstChild[i] = nextChild;
+                childCount[i] = node.children.size();
+                nextChild += node.children.size();
+                topOffset[i] = nextTop;
+                topCount[i] = node.top.length;
+                System.arraycopy(node.top, 0, top, nextTop, node.top.length);
+                nextTop += node.top.length;
+            }
+            return new Trie(labels, firstChild, childCount, topOffset, topCount, top, suggestions);
+        }
+    }
+
+    private static final class BuildNode {
+        private char label;
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> terminals = new ArrayList<>();
+        private int[] top = new int[0];
+
+        void insert(String key, int start, int suggestion) {
+            BuildNode node = this;
+            for (int i = start; i < key.length(); i++) {
+                char c = key.charAt(i);
+                BuildNode child = node.children.get(c);
+                if (child == null) {
+                    child = new BuildNode();
+                    child.label = c;
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.terminals.add(suggestion);
+        }
+
+        /**
+         * Fill top with the best TOP_K distinct suggestions in this subtree.
+         * Suggestion indexes are ordered by weight, so the smallest indexes win.
+         */
+        int[] computeTop() {
+            Set<Integer> candidates = new LinkedHashSet<>(terminals);
+            for (BuildNode child : children.values()) {
+                for (int suggestion : child.computeTop()) {
+                    candidates.add(suggestion);
+                }
+            }
+            int[] best = candidates.stream().mapToInt(Integer::intValue).sorted().toArray();
+            top = best.length > TOP_K ? Arrays.copyOf(best, TOP_K) : best;
+            return top;
+        }
+    }
+}
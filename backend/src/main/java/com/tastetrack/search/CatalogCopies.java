@@ -0,0 +1,44 @@
+package com.tastetrack.search;
+
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+
+/**
+ * Detached copies of catalog entities for in-memory indexes. Copies never hold
+ * lazy proxies or the restaurant owner, so they can be serialized without a session.
+ */
+final class CatalogCopies {
+    private CatalogCopies() {
+    }
+
+    static Restaurant restaurant(Restaurant source) {
+        Restaurant copy = new Restaurant();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setCuisine(source.getCuisine());
+        copy.setRating(source.getRating());
+        copy.setDeliveryTime(source.getDeliveryTime());
+        copy.setMinOrder(source.getMinOrder());
+        copy.setImage(source.getImage());
+        copy.setAddress(source.getAddress());
+        copy.setIsOpen(source.getIsOpen());
+        copy.setLatitude(source.getLatitude());
+        copy.setLongitude(source.getLongitude());
+        copy.setDeliveryRadiusKm(source.getDeliveryRadiusKm());
+        return copy;
+    }
+
+    static MenuItem menuItem(MenuItem source) {
+        MenuItem copy = new MenuItem();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setImage(source.getImage());
+        copy.setCategory(source.getCategory());
+        copy.setRestaurantId(source.getRestaurant() != null ? source.getRestaurant().getId() : source.getRestaurantId());
+        copy.setIsVeg(source.getIsVeg());
+        copy.setRating(source.getRating());
+        return copy;
+    }
+}
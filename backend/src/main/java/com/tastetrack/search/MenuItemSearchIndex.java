@@ -0,0 +1,290 @@
+package com.tastetrack.search;
+
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over menu item name, category and description, ranked
+ * with BM25.
+ *
+ * Fields are weighted (name 3, category 2, description 1) by scaling term
+ * frequencies and document length before applying the usual BM25 formula. Each
+ * posting stores the weighted frequency, so scoring a query only walks the postings
+ * of its terms. Items are held as detached copies and restaurant open state is
+ * tracked alongside, so searches and their filters never reach MySQL.
+ *
+ * The index is built at startup and updated incrementally from {@link CatalogChangeEvent}s.
+ */
+@Component
+public class MenuItemSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Boolean> restaurantOpen = new ConcurrentHashMap<>();
+    private MenuItem[] docs = new MenuItem[64];
+    private String[][] docTerms = new String[64][];
+    private int[] docLengths = new int[64];
+    private int slotCount;
+    private int docCount;
+    private long totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        List<MenuItem> menuItems = menuItemRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            restaurantOpen.clear();
+            for (Restaurant restaurant : restaurants) {
+                restaurantOpen.put(restaurant.getId(), Boolean.TRUE.equals(restaurant.getIsOpen()));
+            }
+            postings.clear();
+            slotById.clear();
+            freeSlots.clear();
+            int capacity = Math.max(64, menuItems.size());
+            docs = new MenuItem[capacity];
+            docTerms = new String[capacity][];
+            docLengths = new int[capacity];
+            slotCount = 0;
+            docCount = 0;
+            totalLength = 0;
+            for (MenuItem menuItem : menuItems) {
+                addLocked(CatalogCopies.menuItem(menuItem));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Menu item search index built with " + menuItems.size() + " items");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.getType()) {
+            case MENU_ITEM_SAVED -> menuItemRepository.findById(event.getMenuItemId())
+                    .ifPresentOrElse(this::upsert, () -> remove(event.getMenuItemId()));
+            case MENU_ITEM_DELETED -> remove(event.getMenuItemId());
+            case RESTAURANT_SAVED -> restaurantRepository.findById(event.getRestaurantId())
+                    .ifPresent(restaurant -> restaurantOpen.put(restaurant.getId(), Boolean.TRUE.equals(restaurant.getIsOpen())));
+            case RESTAURANT_DELETED -> removeRestaurant(event.getRestaurantId());
+            case CATALOG_RELOADED -> rebuild();
+        }
+    }
+
+    public void upsert(MenuItem menuItem) {
+        MenuItem copy = CatalogCopies.menuItem(menuItem);
+        lock.writeLock().lock();
+        try {
+            removeLocked(copy.getId());
+            addLocked(copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long menuItemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(menuItemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menu items matching the query, highest BM25 score first.
+     *
+     * @param veg      when non-null, only items whose isVeg equals it
+     * @param openOnly only items from restaurants that are currently open
+     */
+    public List<MenuItem> search(String query, Boolean veg, boolean openOnly, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(Tokens.of(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (docCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / docCount;
+            double[] scores = new double[slotCount];
+            int[] touched = new int[slotCount];
+            int touchedCount = 0;
+
+            for (String term : queryTerms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    double tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * docLengths[slot] / averageLength);
+                    if (scores[slot] == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    scores[slot] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                MenuItem item = docs[touched[i]];
+                if (veg != null && !veg.equals(item.getIsVeg())) {
+                    continue;
+                }
+                if (openOnly && !restaurantOpen.getOrDefault(item.getRestaurantId(), false)) {
+                    continue;
+                }
+                candidates.add(touched[i]);
+            }
+            candidates.sort((a, b) -> Double.compare(scores[b], scores[a]));
+
+            List<MenuItem> results = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && i < limit; i++) {
+                results.add(docs[candidates.get(i)]);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeRestaurant(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            restaurantOpen.remove(restaurantId);
+            List<Long> itemIds = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (docs[slot] != null && restaurantId.equals(docs[slot].getRestaurantId())) {
+                    itemIds.add(docs[slot].getId());
+                }
+            }
+            itemIds.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(MenuItem menuItem) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, menuItem.getName(), NAME_WEIGHT)
+                + addTerms(frequencies, menuItem.getCategory(), CATEGORY_WEIGHT)
+                + addTerms(frequencies, menuItem.getDescription(), DESCRIPTION_WEIGHT);
+
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == docs.length) {
+                docs = Arrays.copyOf(docs, slotCount * 2);
+                docTerms = Arrays.copyOf(docTerms, slotCount * 2);
+                docLengths = Arrays.copyOf(docLengths, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+
+        docs[slot] = menuItem;
+        docTerms[slot] = frequencies.keySet().toArray(new String[0]);
+        docLengths[slot] = length;
+        slotById.put(menuItem.getId(), slot);
+        docCount++;
+        totalLength += length;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(slot, entry.getValue());
+        }
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = Tokens.of(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeLocked(Long menuItemId) {
+        Integer slot = slotById.remove(menuItemId);
+        if (slot == null) {
+            return;
+        }
+        for (String term : docTerms[slot]) {
+            Postings list = postings.get(term);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        docCount--;
+        totalLength -= docLengths[slot];
+        docs[slot] = null;
+        docTerms[slot] = new String[0];
+        docLengths[slot] = 0;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Slots containing one term with the term's weighted frequency in each.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
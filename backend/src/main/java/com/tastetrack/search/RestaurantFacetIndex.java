@@ -0,0 +1,358 @@
+package com.tastetrack.search;
+
+import com.tastetrack.dto.RestaurantFilterRequest;
+import com.tastetrack.dto.RestaurantFilterResponse;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.repository.RestaurantRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Faceted filtering over restaurants.
+ *
+ * Restaurants are numbered densely in id order and each facet value keeps a compressed
+ * bitmap of the restaurants that have it: one per cuisine, one for open and one for
+ * "serves at least one vegetarian dish". Numeric attributes (rating, minimum order and
+ * delivery time) are range indexes of slots sorted by value, so a bound is a binary
+ * search plus one bitmap. A query ANDs the bitmaps of the active filters, and facet
+ * counts are intersection cardinalities computed without that facet's own filter, so
+ * they tell the client how many results picking a different value would give.
+ *
+ * The index is an immutable snapshot, rebuilt from two queries on every catalog change
+ * and swapped in whole, so readers never lock.
+ */
+@Component
+public class RestaurantFacetIndex {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Facet counts for numeric attributes are reported per threshold
+    private static final double[] RATING_AT_LEAST = {4.5, 4.0, 3.5};
+    private static final double[] MIN_ORDER_AT_MOST = {10, 15, 20};
+    private static final double[] DELIVERY_AT_MOST = {30, 45, 60};
+
+    private static final int CUISINE = 0;
+    private static final int OPEN = 1;
+    private static final int VEG = 2;
+    private static final int RATING = 3;
+    private static final int MIN_ORDER = 4;
+    private static final int DELIVERY = 5;
+    private static final int FACET_COUNT = 6;
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of(), Set.of());
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        Set<Long> withVeg = new HashSet<>(menuItemRepository.findRestaurantIdsWithVegItems());
+        snapshot = Snapshot.build(restaurants, withVeg);
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        rebuild();
+    }
+
+    public RestaurantFilterResponse filter(RestaurantFilterRequest request) {
+        if (!ready) {
+            rebuild();
+        }
+        Snapshot s = snapshot;
+        int[] order = s.sortOrder(request.getSort());
+        int size = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        int page = Math.max(0, request.getPage());
+
+        RoaringBitmap[] filters = new RoaringBitmap[FACET_COUNT];
+        filters[CUISINE] = s.cuisines(request.getCuisine());
+        if (request.getOpen() != null) {
+            filters[OPEN] = request.getOpen() ? s.open : RoaringBitmap.andNot(s.all, s.open);
+        }
+        if (request.getVeg() != null) {
+            filters[VEG] = request.getVeg() ? s.veg : RoaringBitmap.andNot(s.all, s.veg);
+        }
+        if (request.getMinRating() != null) {
+            filters[RATING] = s.rating.atLeast(request.getMinRating());
+        }
+        if (request.getMaxMinOrder() != null) {
+            filters[MIN_ORDER] = s.minOrder.atMost(request.getMaxMinOrder());
+        }
+        if (request.getMaxDeliveryMinutes() != null) {
+            filters[DELIVERY] = s.delivery.atMost(request.getMaxDeliveryMinutes());
+        }
+
+        RoaringBitmap matches = s.intersect(filters, -1);
+        List<Restaurant> restaurants = new ArrayList<>(size);
+        int offset = page * size;
+        int seen = 0;
+        for (int i = 0; i < order.length && restaurants.size() < size; i++) {
+            if (matches.contains(order[i]) && seen++ >= offset) {
+                restaurants.add(s.docs[order[i]]);
+            }
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("cuisine", s.cuisineCounts(s.intersect(filters, CUISINE)));
+        facets.put("open", booleanCounts(s.intersect(filters, OPEN), s.open));
+        facets.put("veg", booleanCounts(s.intersect(filters, VEG), s.veg));
+        facets.put("rating", bucketCounts(s.intersect(filters, RATING), s.ratingBuckets));
+        facets.put("minOrder", bucketCounts(s.intersect(filters, MIN_ORDER), s.minOrderBuckets));
+        facets.put("deliveryMinutes", bucketCounts(s.intersect(filters, DELIVERY), s.deliveryBuckets));
+
+        return new RestaurantFilterResponse(restaurants, matches.getCardinality(), page, size, facets);
+    }
+
+    private static Map<String, Integer> booleanCounts(RoaringBitmap base, RoaringBitmap positive) {
+        int matching = RoaringBitmap.andCardinality(base, positive);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("true", matching);
+        counts.put("false", base.getCardinality() - matching);
+        return counts;
+    }
+
+    private static Map<String, Integer> bucketCounts(RoaringBitmap base, Map<String, RoaringBitmap> buckets) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        buckets.forEach((label, bucket) -> counts.put(label, RoaringBitmap.andCardinality(base, bucket)));
+        return counts;
+    }
+
+    /**
+     * Upper bound in minutes of a free-form delivery time such as "30-40 min", or NaN.
+     */
+    static double deliveryMinutes(String deliveryTime) {
+        if (deliveryTime == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = NUMBER.matcher(deliveryTime);
+        double minutes = Double.NaN;
+        while (matcher.find()) {
+            minutes = Integer.parseInt(matcher.group());
+        }
+        return minutes;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static String label(double threshold) {
+        return threshold == Math.rint(threshold) ? String.valueOf((long) threshold) : String.valueOf(threshold);
+    }
+
+    private static final class Snapshot {
+        private final Restaurant[] docs;
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap open = new RoaringBitmap();
+        private final RoaringBitmap veg = new RoaringBitmap();
+        private final Map<String, RoaringBitmap> cuisineByKey = new HashMap<>();
+        private final Map<String, String> cuisineLabels = new TreeMap<>();
+        private final RangeIndex rating;
+        private final RangeIndex minOrder;
+        private final RangeIndex delivery;
+        private final Map<String, RoaringBitmap> ratingBuckets = new LinkedHashMap<>();
+        private final Map<String, RoaringBitmap> minOrderBuckets = new LinkedHashMap<>();
+        private final Map<String, RoaringBitmap> deliveryBuckets = new LinkedHashMap<>();
+        private final Map<String, int[]> sortOrders = new HashMap<>();
+
+        private Snapshot(Restaurant[] docs, Set<Long> withVeg) {
+            this.docs = docs;
+            double[] ratings = new double[docs.length];
+            double[] minOrders = new double[docs.length];
+            double[] deliveries = new double[docs.length];
+            all.add(0L, docs.length);
+            for (int slot = 0; slot < docs.length; slot++) {
+                Restaurant restaurant = docs[slot];
+                if (Boolean.TRUE.equals(restaurant.getIsOpen())) {
+                    open.add(slot);
+                }
+                if (withVeg.contains(restaurant.getId())) {
+                    veg.add(slot);
+                }
+                if (restaurant.getCuisine() != null) {
+                    String key = restaurant.getCuisine().trim().toLowerCase();
+                    cuisineByKey.computeIfAbsent(key, k -> new RoaringBitmap()).add(slot);
+                    cuisineLabels.putIfAbsent(key, restaurant.getCuisine().trim());
+                }
+                ratings[slot] = valueOf(restaurant.getRating());
+                minOrders[slot] = valueOf(restaurant.getMinOrder());
+                deliveries[slot] = deliveryMinutes(restaurant.getDeliveryTime());
+            }
+            cuisineByKey.values().forEach(RoaringBitmap::runOptimize);
+
+            rating = new RangeIndex(ratings);
+            minOrder = new RangeIndex(minOrders);
+            delivery = new RangeIndex(deliveries);
+            for (double threshold : RATING_AT_LEAST) {
+                ratingBuckets.put(String.valueOf(threshold), rating.atLeast(threshold));
+            }
+            for (double threshold : MIN_ORDER_AT_MOST) {
+                minOrderBuckets.put(label(threshold), minOrder.atMost(threshold));
+            }
+            for (double threshold : DELIVERY_AT_MOST) {
+                deliveryBuckets.put(label(threshold), delivery.atMost(threshold));
+            }
+
+            // Every order breaks ties by rating, then id; missing values sort last
+            Comparator<Integer> byRating = Comparator.comparingDouble(slot -> -orLowest(ratings[slot]));
+            sortOrders.put("rating", order(byRating));
+            sortOrders.put("deliveryTime", order(ascending(deliveries).thenComparing(byRating)));
+            sortOrders.put("minOrder", order(ascending(minOrders).thenComparing(byRating)));
+            sortOrders.put("name", order(Comparator.<Integer, String>comparing(
+                    slot -> docs[slot].getName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(byRating)));
+        }
+
+        static Snapshot build(List<Restaurant> restaurants, Set<Long> withVeg) {
+            Restaurant[] docs = restaurants.stream()
+                    .sorted(Comparator.comparing(Restaurant::getId))
+                    .map(CatalogCopies::restaurant)
+                    .toArray(Restaurant[]::new);
+            return new Snapshot(docs, withVeg);
+        }
+
+        int[] sortOrder(String sort) {
+            int[] order = sortOrders.get(sort != null ? sort : "rating");
+            if (order == null) {
+                throw new RuntimeException("Unsupported sort: " + sort);
+            }
+            return order;
+        }
+
+        RoaringBitmap cuisines(List<String> requested) {
+            if (requested == null || requested.isEmpty()) {
+                return null;
+            }
+            RoaringBitmap union = new RoaringBitmap();
+            for (String cuisine : requested) {
+                RoaringBitmap bitmap = cuisineByKey.get(cuisine.trim().toLowerCase());
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            return union;
+        }
+
+        Map<String, Integer> cuisineCounts(RoaringBitmap base) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            cuisineLabels.forEach((key, label) ->
+                    counts.put(label, RoaringBitmap.andCardinality(base, cuisineByKey.get(key))));
+            return counts;
+        }
+
+        /**
+         * AND of every active filter except the one at index skip (-1 to keep all).
+         */
+        RoaringBitmap intersect(RoaringBitmap[] filters, int skip) {
+            RoaringBitmap result = null;
+            for (int i = 0; i < filters.length; i++) {
+                if (i != skip && filters[i] != null) {
+                    result = result == null ? filters[i] : RoaringBitmap.and(result, filters[i]);
+                }
+            }
+            return result != null ? result : all;
+        }
+
+        private int[] order(Comparator<Integer> comparator) {
+            return IntStream.range(0, docs.length).boxed()
+                    .sorted(comparator.thenComparing(slot -> docs[slot].getId()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        private static Comparator<Integer> ascending(double[] values) {
+            return Comparator.comparingDouble((ToDoubleFunction<Integer>) slot ->
+                    Double.isNaN(values[slot]) ? Double.MAX_VALUE : values[slot]);
+        }
+
+        private static double orLowest(double value) {
+            return Double.isNaN(value) ? -Double.MAX_VALUE : value;
+        }
+    }
+
+    /**
+     * Slots sorted by a numeric attribute; slots without a value are left out.
+     */
+    private static final class RangeIndex {
+        private final double[] values;
+        private final int[] slots;
+
+        RangeIndex(double[] valueBySlot) {
+            int[] present = IntStream.range(0, valueBySlot.length)
+                    .filter(slot -> !Double.isNaN(valueBySlot[slot]))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(slot -> valueBySlot[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.slots = present;
+            this.values = Arrays.stream(present).mapToDouble(slot -> valueBySlot[slot]).toArray();
+        }
+
+        RoaringBitmap atLeast(double bound) {
+            int from = firstIndexAbove(bound, true);
+            return bitmap(from, slots.length);
+        }
+
+        RoaringBitmap atMost(double bound) {
+            int to = firstIndexAbove(bound, false);
+            return bitmap(0, to);
+        }
+
+        /**
+         * Index of the first value greater than (or, if inclusive, at least) bound.
+         */
+        private int firstIndexAbove(double bound, boolean inclusive) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < bound || (!inclusive && values[mid] == bound)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private RoaringBitmap bitmap(int from, int to) {
+            RoaringBitmap bitmap = new RoaringBitmap();
+            if (to > from) {
+                bitmap.addN(slots, from, to - from);
+            }
+            return bitmap;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.tastetrack.search;
+
+import com.tastetrack.dto.NearbyRestaurant;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grid index answering "which open restaurants deliver to this point".
+ *
+ * The world is cut into cells of CELL_DEGREES on each axis. A restaurant is registered
+ * in every cell its delivery circle touches, so a lookup reads the single cell holding
+ * the customer and checks each candidate against its own radius. The work per request
+ * depends on local density only, not on the total number of restaurants.
+ *
+ * Coordinates live in primitive arrays and candidates are compared with an
+ * equirectangular distance (well under 1% off at delivery ranges), keeping only the
+ * nearest limit in a small sorted buffer; the great-circle distance is computed for
+ * the returned restaurants only.
+ *
+ * Restaurants without coordinates are not indexed. The index is built at startup and
+ * kept current from {@link CatalogChangeEvent}s.
+ */
+@Component
+public class RestaurantGeoIndex {
+    public static final double DEFAULT_DELIVERY_RADIUS_KM = 5.0;
+    // Caps how many cells a single restaurant can occupy
+    public static final double MAX_DELIVERY_RADIUS_KM = 50.0;
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private Restaurant[] docs = new Restaurant[64];
+    private long[][] docCells = new long[64][];
+    private double[] latitudes = new double[64];
+    private double[] longitudes = new double[64];
+    private double[] radiiSquared = new double[64];
+    private boolean[] open = new boolean[64];
+    private int slotCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            slotById.clear();
+            freeSlots.clear();
+            docs = new Restaurant[Math.max(64, restaurants.size())];
+            docCells = new long[docs.length][];
+            latitudes = new double[docs.length];
+            longitudes = new double[docs.length];
+            radiiSquared = new double[docs.length];
+            open = new boolean[docs.length];
+            slotCount = 0;
+            for (Restaurant restaurant : restaurants) {
+                addLocked(CatalogCopies.restaurant(restaurant));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Restaurant geo index built with " + slotById.size() + " located restaurants");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.getType()) {
+            case RESTAURANT_SAVED -> restaurantRepository.findById(event.getRestaurantId())
+                    .ifPresentOrElse(this::upsert, () -> remove(event.getRestaurantId()));
+            case RESTAURANT_DELETED -> remove(event.getRestaurantId());
+            case CATALOG_RELOADED -> rebuild();
+            default -> {
+            }
+        }
+    }
+
+    public void upsert(Restaurant restaurant) {
+        Restaurant copy = CatalogCopies.restaurant(restaurant);
+        lock.writeLock().lock();
+        try {
+            removeLocked(copy.getId());
+            addLocked(copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Open restaurants whose delivery radius covers the point, nearest first.
+     */
+    public List<NearbyRestaurant> nearby(double latitude, double longitude, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        double kmPerDegreeLng = KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitude));
+        // Nearest candidates so far, ascending by squared distance
+        double[] bestDistances = new double[limit];
+        int[] bestSlots = new int[limit];
+        int found = 0;
+
+        lock.readLock().lock();
+        try {
+            Cell cell = cells.get(cellKey(latitude, longitude));
+            if (cell == null) {
+                return List.of();
+            }
+            for (int i = 0; i < cell.size; i++) {
+                int slot = cell.slots[i];
+                if (!open[slot]) {
+                    continue;
+                }
+                double dy = (latitudes[slot] - latitude) * KM_PER_DEGREE_LAT;
+                double dx = wrapDegrees(longitudes[slot] - longitude) * kmPerDegreeLng;
+                double distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared > radiiSquared[slot]
+                        || (found == limit && distanceSquared >= bestDistances[limit - 1])) {
+                    continue;
+                }
+                int position = found < limit ? found++ : limit - 1;
+                while (position > 0 && bestDistances[position - 1] > distanceSquared) {
+                    bestDistances[position] = bestDistances[position - 1];
+                    bestSlots[position] = bestSlots[position - 1];
+                    position--;
+                }
+                bestDistances[position] = distanceSquared;
+                bestSlots[position] = slot;
+            }
+
+            List<NearbyRestaurant> results = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int slot = bestSlots[i];
+                double distance = distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]);
+                results.add(new NearbyRestaurant(docs[slot], distance));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance in kilometres.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static double radiusOf(Restaurant restaurant) {
+        Double radius = restaurant.getDeliveryRadiusKm();
+        if (radius == null || radius <= 0) {
+            return DEFAULT_DELIVERY_RADIUS_KM;
+        }
+        return Math.min(radius, MAX_DELIVERY_RADIUS_KM);
+    }
+
+    private void addLocked(Restaurant restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return;
+        }
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == docs.length) {
+                docs = Arrays.copyOf(docs, slotCount * 2);
+                docCells = Arrays.copyOf(docCells, slotCount * 2);
+                latitudes = Arrays.copyOf(latitudes, slotCount * 2);
+                longitudes = Arrays.copyOf(longitudes, slotCount * 2);
+                radiiSquared = Arrays.copyOf(radiiSquared, slotCount * 2);
+                open = Arrays.copyOf(open, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+
+        double radius = radiusOf(restaurant);
+        long[] covered = coveredCells(restaurant.getLatitude(), restaurant.getLongitude(), radius);
+        docs[slot] = restaurant;
+        docCells[slot] = covered;
+        latitudes[slot] = restaurant.getLatitude();
+        longitudes[slot] = restaurant.getLongitude();
+        radiiSquared[slot] = radius * radius;
+        open[slot] = Boolean.TRUE.equals(restaurant.getIsOpen());
+        slotById.put(restaurant.getId(), slot);
+        for (long key : covered) {
+            cells.computeIfAbsent(key, k -> new Cell()).add(slot);
+        }
+    }
+
+    private void removeLocked(Long restaurantId) {
+        Integer slot = slotById.remove(restaurantId);
+        if (slot == null) {
+            return;
+        }
+        for (long key : docCells[slot]) {
+            Cell cell = cells.get(key);
+            cell.remove(slot);
+            if (cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+        docs[slot] = null;
+        docCells[slot] = new long[0];
+        open[slot] = false;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Keys of all cells overlapping the bounding box of a circle.
+     */
+    private static long[] coveredCells(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        // Longitude degrees shrink towards the poles; clamp so the box stays finite
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lngSpan = Math.min(radiusKm / (KM_PER_DEGREE_LAT * cosLat), 180.0);
+
+        int minRow = row(latitude - latSpan);
+        int maxRow = row(latitude + latSpan);
+        int minCol = column(longitude - lngSpan);
+        int maxCol = column(longitude + lngSpan);
+        long[] keys = new long[(maxRow - minRow + 1) * (maxCol - minCol + 1)];
+        int i = 0;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                keys[i++] = key(r, wrapColumn(c));
+            }
+        }
+        return keys;
+    }
+
+    private static double wrapDegrees(double degrees) {
+        if (degrees > 180) {
+            return degrees - 360;
+        }
+        return degrees < -180 ? degrees + 360 : degrees;
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return key(row(latitude), wrapColumn(column(longitude)));
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor(Math.max(-90.0, Math.min(90.0, latitude)) / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static int wrapColumn(int column) {
+        int columns = (int) Math.round(360.0 / CELL_DEGREES);
+        return Math.floorMod(column, columns);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    /**
+     * Unordered list of slots registered in one cell.
+     */
+    private static final class Cell {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
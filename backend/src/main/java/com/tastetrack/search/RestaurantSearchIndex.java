@@ -0,0 +1,225 @@
+package com.tastetrack.search;
+
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over restaurant name and cuisine.
+ *
+ * Each restaurant occupies a slot; every trigram maps to the slots that contain it.
+ * A query counts, per slot, how many of its trigrams are shared and ranks restaurants
+ * by the fraction of query trigrams found, then by overall trigram similarity. Working
+ * on trigrams rather than substrings makes prefix queries and small typos ("piza",
+ * "sushy") still match.
+ *
+ * The index is built at startup and kept current from {@link CatalogChangeEvent}s.
+ */
+@Component
+public class RestaurantSearchIndex {
+    // Minimum share of the query's trigrams a restaurant must contain to be returned
+    private static final double MIN_COVERAGE = 0.4;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private Restaurant[] docs = new Restaurant[64];
+    private String[][] docTrigrams = new String[64][];
+    private int slotCount;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Restaurant> restaurants = restaurantRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotById.clear();
+            freeSlots.clear();
+            docs = new Restaurant[Math.max(64, restaurants.size())];
+            docTrigrams = new String[docs.length][];
+            slotCount = 0;
+            for (Restaurant restaurant : restaurants) {
+                addLocked(CatalogCopies.restaurant(restaurant));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        System.out.println("Restaurant search index built with " + restaurants.size() + " restaurants");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.getType()) {
+            case RESTAURANT_SAVED -> restaurantRepository.findById(event.getRestaurantId())
+                    .ifPresentOrElse(this::upsert, () -> remove(event.getRestaurantId()));
+            case RESTAURANT_DELETED -> remove(event.getRestaurantId());
+            case CATALOG_RELOADED -> rebuild();
+            default -> {
+            }
+        }
+    }
+
+    public void upsert(Restaurant restaurant) {
+        Restaurant copy = CatalogCopies.restaurant(restaurant);
+        lock.writeLock().lock();
+        try {
+            removeLocked(copy.getId());
+            addLocked(copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Restaurants matching the query, best match first.
+     */
+    public List<Restaurant> search(String query, int limit) {
+        Set<String> queryTrigrams = Trigrams.of(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] overlap = new int[slotCount];
+            int[] touched = new int[slotCount];
+            int touchedCount = 0;
+            for (String trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (overlap[slot]++ == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                }
+            }
+
+            int queryCount = queryTrigrams.size();
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                int shared = overlap[slot];
+                double coverage = (double) shared / queryCount;
+                if (coverage >= MIN_COVERAGE) {
+                    double similarity = (double) shared / (queryCount + docTrigrams[slot].length - shared);
+                    matches.add(new Match(docs[slot], coverage, similarity));
+                }
+            }
+
+            matches.sort(Comparator.comparingDouble(Match::coverage).reversed()
+                    .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+                    .thenComparing(match -> match.restaurant().getRating(), Comparator.nullsLast(Comparator.reverseOrder())));
+
+            List<Restaurant> results = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                results.add(matches.get(i).restaurant());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Restaurant restaurant) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == docs.length) {
+                docs = Arrays.copyOf(docs, slotCount * 2);
+                docTrigrams = Arrays.copyOf(docTrigrams, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+
+        String[] trigrams = Trigrams.of(restaurant.getName(), restaurant.getCuisine()).toArray(new String[0]);
+        docs[slot] = restaurant;
+        docTrigrams[slot] = trigrams;
+        slotById.put(restaurant.getId(), slot);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(slot);
+        }
+    }
+
+    private void removeLocked(Long restaurantId) {
+        Integer slot = slotById.remove(restaurantId);
+        if (slot == null) {
+            return;
+        }
+        for (String trigram : docTrigrams[slot]) {
+            Postings list = postings.get(trigram);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        docs[slot] = null;
+        docTrigrams[slot] = new String[0];
+        freeSlots.push(slot);
+    }
+
+    private record Match(Restaurant restaurant, double coverage, double similarity) {
+    }
+
+    /**
+     * Unordered list of slots containing one trigram.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tastetrack.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Word tokenizer for full-text indexes: lower-cases, splits on anything that is not a
+ * letter or digit and folds simple plurals ("tacos" -> "taco") so they match.
+ */
+final class Tokens {
+    private Tokens() {
+    }
+
+    static List<String> of(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                tokens.add(normalize(word.toString()));
+                word.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String word) {
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
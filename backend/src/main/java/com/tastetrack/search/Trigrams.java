@@ -0,0 +1,41 @@
+package com.tastetrack.search;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Trigram extraction in the style of PostgreSQL's pg_trgm: text is lower-cased and
+ * split into alphanumeric words, and each word is padded with two leading spaces and
+ * one trailing space before being cut into three-character grams.
+ */
+final class Trigrams {
+    private Trigrams() {
+    }
+
+    static Set<String> of(String... texts) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    word.append(c);
+                } else if (word.length() > 0) {
+                    addWord(word.toString(), trigrams);
+                    word.setLength(0);
+                }
+            }
+        }
+        return trigrams;
+    }
+
+    private static void addWord(String word, Set<String> trigrams) {
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+}
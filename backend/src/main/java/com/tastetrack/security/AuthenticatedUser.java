@@ -0,0 +1,27 @@
+package com.tastetrack.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.security.Principal;
+
+/**
+ * Principal stored in the security context once a JWT has been verified.
+ * userId is null for tokens issued before the "uid" claim was added.
+ */
+@Data
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private String email;
+    private String role;
+    private Long userId;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean hasRole(String expectedRole) {
+        return expectedRole.equals(role);
+    }
+}
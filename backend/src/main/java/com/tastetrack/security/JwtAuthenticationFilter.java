@@ -0,0 +1,106 @@
+package com.tastetrack.security;
+
+import com.tastetrack.util.BoundedCache;
+import com.tastetrack.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Verifies the bearer token once per request and stores the resulting
+ * {@link AuthenticatedUser} in the security context.
+ *
+ * Verified tokens are cached by their SHA-256 hash until they expire, so repeat
+ * requests with the same token skip the HMAC check and claims parsing entirely.
+ * Requests without a valid token continue anonymously; endpoints decide whether
+ * they need a principal.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final JwtUtil jwtUtil;
+    private final BoundedCache<String, AuthenticatedUser> verifiedTokens = new BoundedCache<>(MAX_CACHED_TOKENS);
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = bearerToken(request);
+
+        if (token != null) {
+            AuthenticatedUser user = authenticate(token);
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The token from the Authorization header. Browsers cannot set headers on an
+     * EventSource, so GET requests for /stream endpoints may pass it as access_token.
+     */
+    private static String bearerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (authHeader == null && "GET".equals(request.getMethod()) && request.getRequestURI().endsWith("/stream")) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+
+    AuthenticatedUser authenticate(String token) {
+        String tokenHash = hash(token);
+        AuthenticatedUser cached = verifiedTokens.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            Object uid = claims.get("uid");
+            AuthenticatedUser user = new AuthenticatedUser(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    uid instanceof Number number ? number.longValue() : null);
+
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, user, claims.getExpiration().getTime());
+            }
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tastetrack.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Access to the principal placed in the security context by {@link JwtAuthenticationFilter}.
+ */
+public final class SecurityUtil {
+    private SecurityUtil() {
+    }
+
+    public static Optional<AuthenticatedUser> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Return the current principal if it has the given role, otherwise throw with deniedMessage.
+     */
+    public static AuthenticatedUser requireRole(String role, String deniedMessage) {
+        AuthenticatedUser user = currentUser()
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+        if (!user.hasRole(role)) {
+            throw new RuntimeException(deniedMessage);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,189 @@
+package com.tastetrack.service;
+
+import com.tastetrack.dto.CatalogChanges;
+import com.tastetrack.entity.CatalogChange;
+import com.tastetrack.entity.CatalogChange.EntityType;
+import com.tastetrack.entity.CatalogChange.Operation;
+import com.tastetrack.entity.MenuItem;
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.CatalogChangeRepository;
+import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned log of catalog writes, from which clients keeping an offline copy of
+ * restaurants and menus fetch only what changed since their last sync.
+ *
+ * Every {@link CatalogChangeEvent} adds a row to catalog_changes, in the writing
+ * transaction when there is one; the row id is the version. A change only records
+ * which entity changed: clients get the entity's current state, or a tombstone for
+ * a delete. The admin data refresh writes a RESET, which sends every client back to
+ * a full reload.
+ *
+ * Compaction keeps the log about the size of the catalog: a change followed by a
+ * later change of the same entity is removed, as is everything before the latest
+ * RESET. Tombstones are kept for catalog-changes.retention-days; once one is removed,
+ * a HORIZON row records its id and clients that synced before it must reload.
+ */
+@Service
+public class CatalogChangeLog {
+    private static final int PAGE_SIZE = 500;
+    private static final int COMPACT_BATCH_SIZE = 1000;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Value("${catalog-changes.grace-ms:5000}")
+    private long graceMillis;
+
+    @Value("${catalog-changes.retention-days:30}")
+    private long retentionDays;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        CatalogChange change = switch (event.getType()) {
+            case RESTAURANT_SAVED -> entry(EntityType.RESTAURANT, event.getRestaurantId(), event.getRestaurantId(), Operation.UPSERT);
+            case RESTAURANT_DELETED -> entry(EntityType.RESTAURANT, event.getRestaurantId(), event.getRestaurantId(), Operation.DELETE);
+            case MENU_ITEM_SAVED -> entry(EntityType.MENU_ITEM, event.getMenuItemId(), event.getRestaurantId(), Operation.UPSERT);
+            case MENU_ITEM_DELETED -> entry(EntityType.MENU_ITEM, event.getMenuItemId(), event.getRestaurantId(), Operation.DELETE);
+            case CATALOG_RELOADED -> entry(EntityType.CATALOG, null, null, Operation.RESET);
+        };
+        catalogChangeRepository.save(change);
+    }
+
+    /**
+     * Changes after version since, at most PAGE_SIZE log entries at a time. Without since,
+     * only a version to start from is returned, to be taken before loading the catalog.
+     *
+     * A transaction may still commit a version lower than one already visible, so unless
+     * more changes are waiting, the returned version never passes the changes of the
+     * last catalog-changes.grace-ms; those are repeated by the next call.
+     */
+    public CatalogChanges getChanges(Long since) {
+        long safeVersion = safeVersion();
+        if (since == null) {
+            return reset(safeVersion);
+        }
+        Long lastReset = catalogChangeRepository.findMaxIdByOperation(Operation.RESET);
+        Long horizon = catalogChangeRepository.findMaxEntityIdByOperation(Operation.HORIZON);
+        if ((lastReset != null && since < lastReset) || (horizon != null && since < horizon)) {
+            // Whatever was written before the reset is gone with it
+            return reset(Math.max(safeVersion, lastReset != null ? lastReset : 0));
+        }
+
+        List<CatalogChange> rows = catalogChangeRepository.findByIdGreaterThanOrderByIdAsc(since,
+                PageRequest.of(0, PAGE_SIZE + 1));
+        boolean hasMore = rows.size() > PAGE_SIZE;
+        if (hasMore) {
+            rows = rows.subList(0, PAGE_SIZE);
+        }
+
+        // Latest operation per entity; a later row wins
+        Map<Long, Operation> restaurants = new LinkedHashMap<>();
+        Map<Long, Operation> menuItems = new LinkedHashMap<>();
+        long version = since;
+        boolean settled = true;
+        for (CatalogChange row : rows) {
+            if (row.getEntityType() == EntityType.RESTAURANT) {
+                restaurants.put(row.getEntityId(), row.getOperation());
+            } else if (row.getEntityType() == EntityType.MENU_ITEM) {
+                menuItems.put(row.getEntityId(), row.getOperation());
+            }
+            settled = settled && (hasMore || row.getId() <= safeVersion);
+            if (settled) {
+                version = row.getId();
+            }
+        }
+
+        List<Long> deletedRestaurantIds = idsWith(restaurants, Operation.DELETE);
+        List<Long> deletedMenuItemIds = idsWith(menuItems, Operation.DELETE);
+        List<Restaurant> savedRestaurants = restaurantRepository.findAllById(idsWith(restaurants, Operation.UPSERT));
+        List<MenuItem> savedMenuItems = menuItemRepository.findAllById(idsWith(menuItems, Operation.UPSERT));
+        return new CatalogChanges(version, false, hasMore, savedRestaurants, savedMenuItems,
+                deletedRestaurantIds, deletedMenuItemIds);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog-changes.compact-interval-ms:3600000}")
+    public void compact() {
+        int removed = 0;
+
+        List<Long> ids;
+        while (!(ids = catalogChangeRepository.findSupersededIds(List.of(EntityType.RESTAURANT, EntityType.MENU_ITEM),
+                PageRequest.of(0, COMPACT_BATCH_SIZE))).isEmpty()) {
+            catalogChangeRepository.deleteAllByIdInBatch(ids);
+            removed += ids.size();
+        }
+
+        Long lastReset = catalogChangeRepository.findMaxIdByOperation(Operation.RESET);
+        if (lastReset != null) {
+            while (!(ids = catalogChangeRepository.findIdsBelow(lastReset, PageRequest.of(0, COMPACT_BATCH_SIZE))).isEmpty()) {
+                catalogChangeRepository.deleteAllByIdInBatch(ids);
+                removed += ids.size();
+            }
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long expired = 0;
+        while (!(ids = catalogChangeRepository.findIdsByOperationBefore(Operation.DELETE, cutoff,
+                PageRequest.of(0, COMPACT_BATCH_SIZE))).isEmpty()) {
+            catalogChangeRepository.deleteAllByIdInBatch(ids);
+            removed += ids.size();
+            expired = Math.max(expired, ids.stream().mapToLong(Long::longValue).max().orElse(0));
+        }
+        if (expired > 0) {
+            // One HORIZON row is enough; replace the previous one
+            Long previous = catalogChangeRepository.findMaxEntityIdByOperation(Operation.HORIZON);
+            catalogChangeRepository.deleteAllByIdInBatch(catalogChangeRepository.findIdsByOperationBefore(
+                    Operation.HORIZON, LocalDateTime.now(), PageRequest.of(0, COMPACT_BATCH_SIZE)));
+            catalogChangeRepository.save(entry(EntityType.CATALOG,
+                    Math.max(expired, previous != null ? previous : 0), null, Operation.HORIZON));
+        }
+
+        if (removed > 0) {
+            System.out.println("Catalog change log compacted: removed " + removed + " entries");
+        }
+    }
+
+    private long safeVersion() {
+        Long id = catalogChangeRepository.findMaxIdBefore(LocalDateTime.now().minusNanos(graceMillis * 1_000_000));
+        return id != null ? id : 0;
+    }
+
+    private static CatalogChanges reset(long version) {
+        return new CatalogChanges(version, true, false, List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static CatalogChange entry(EntityType type, Long entityId, Long restaurantId, Operation operation) {
+        return new CatalogChange(null, type, entityId, restaurantId, operation, LocalDateTime.now());
+    }
+
+    private static List<Long> idsWith(Map<Long, Operation> latest, Operation operation) {
+        List<Long> ids = new ArrayList<>();
+        latest.forEach((id, op) -> {
+            if (op == operation) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
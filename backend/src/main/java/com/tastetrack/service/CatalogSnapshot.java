@@ -0,0 +1,25 @@
+package com.tastetrack.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Serialized JSON for one catalog listing together with its strong ETag.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogSnapshot {
+    private final byte[] body;
+    private final String etag;
+
+    public ResponseEntity<byte[]> toResponse() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body);
+    }
+}
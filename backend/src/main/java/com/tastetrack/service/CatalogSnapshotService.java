@@ -0,0 +1,122 @@
+package com.tastetrack.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tastetrack.event.CatalogChangeEvent;
+import com.tastetrack.repository.MenuItemRepository;
+import com.tastetrack.repository.RestaurantRepository;
+import com.tastetrack.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the public catalog listings as ready-to-send JSON bytes.
+ *
+ * Snapshots are built on first read and dropped when a {@link CatalogChangeEvent}
+ * touches them, so anonymous browsing never reaches MySQL or Jackson while the
+ * catalog is unchanged. A generation counter stops a build that raced with a write
+ * from caching data read before that write.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final int MAX_MENU_SNAPSHOTS = 10_000;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile CatalogSnapshot allRestaurants;
+    private volatile CatalogSnapshot openRestaurants;
+    private final BoundedCache<Long, CatalogSnapshot> menus = new BoundedCache<>(MAX_MENU_SNAPSHOTS);
+    private final AtomicLong generation = new AtomicLong();
+
+    public CatalogSnapshot allRestaurants() {
+        CatalogSnapshot snapshot = allRestaurants;
+        if (snapshot == null) {
+            long gen = generation.get();
+            snapshot = build(restaurantRepository::findAll);
+            if (generation.get() == gen) {
+                allRestaurants = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    public CatalogSnapshot openRestaurants() {
+        CatalogSnapshot snapshot = openRestaurants;
+        if (snapshot == null) {
+            long gen = generation.get();
+            snapshot = build(restaurantRepository::findAllOpenRestaurants);
+            if (generation.get() == gen) {
+                openRestaurants = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    public CatalogSnapshot menu(Long restaurantId) {
+        CatalogSnapshot snapshot = menus.get(restaurantId);
+        if (snapshot == null) {
+            long gen = generation.get();
+            snapshot = build(() -> menuItemRepository.findByRestaurantId(restaurantId));
+            if (generation.get() == gen) {
+                menus.put(restaurantId, snapshot, Long.MAX_VALUE);
+            }
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        generation.incrementAndGet();
+        switch (event.getType()) {
+            case RESTAURANT_SAVED, RESTAURANT_DELETED -> {
+                allRestaurants = null;
+                openRestaurants = null;
+                menus.invalidate(event.getRestaurantId());
+            }
+            case MENU_ITEM_SAVED, MENU_ITEM_DELETED -> {
+                if (event.getRestaurantId() != null) {
+                    menus.invalidate(event.getRestaurantId());
+                } else {
+                    menus.clear();
+                }
+            }
+            case CATALOG_RELOADED -> {
+                allRestaurants = null;
+                openRestaurants = null;
+                menus.clear();
+            }
+        }
+    }
+
+    private CatalogSnapshot build(Supplier<?> loader) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(loader.get());
+            return new CatalogSnapshot(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize catalog: " + e.getMessage(), e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
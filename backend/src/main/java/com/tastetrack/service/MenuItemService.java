@@ -1,8 +1,10 @@
 package com.tastetrack.service;
 
 import com.tastetrack.entity.MenuItem;
+import com.tastetrack.event.CatalogChangeEvent;
 import com.tastetrack.repository.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,6 +15,9 @@ public class MenuItemService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<MenuItem> getMenuItemsByRestaurant(Long restaurantId) {
         return menuItemRepository.findByRestaurantId(restaurantId);
     }
@@ -26,15 +31,25 @@ public class MenuItemService {
     }
 
     public MenuItem createMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(CatalogChangeEvent.menuItemSaved(restaurantIdOf(saved), saved.getId()));
+        return saved;
     }
 
     public MenuItem updateMenuItem(Long id, MenuItem menuItem) {
         menuItem.setId(id);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(CatalogChangeEvent.menuItemSaved(restaurantIdOf(saved), id));
+        return saved;
     }
 
     public void deleteMenuItem(Long id) {
+        Long restaurantId = menuItemRepository.findById(id).map(this::restaurantIdOf).orElse(null);
         menuItemRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.menuItemDeleted(restaurantId, id));
+    }
+
+    private Long restaurantIdOf(MenuItem menuItem) {
+        return menuItem.getRestaurant() != null ? menuItem.getRestaurant().getId() : menuItem.getRestaurantId();
     }
 }
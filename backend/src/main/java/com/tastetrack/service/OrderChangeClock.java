@@ -0,0 +1,45 @@
+package com.tastetrack.service;
+
+import com.tastetrack.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues the values stored in orders.change_version.
+ *
+ * A version is the current time in microseconds, bumped as needed so that values
+ * always increase, even across a restart with a clock set back. Being time based,
+ * a version can also be compared with a point in time, which is how sync clients are
+ * kept clear of transactions that took a version but have not committed yet.
+ */
+@Component
+public class OrderChangeClock {
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final AtomicLong last = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        Long max = orderRepository.findMaxChangeVersion();
+        if (max != null) {
+            last.accumulateAndGet(max, Math::max);
+        }
+    }
+
+    public long next() {
+        long now = System.currentTimeMillis() * 1000;
+        return last.accumulateAndGet(now, (previous, time) -> Math.max(previous + 1, time));
+    }
+
+    /**
+     * The highest version that could have been issued before millis ago.
+     */
+    public long horizon(long millis) {
+        return (System.currentTimeMillis() - millis) * 1000;
+    }
+}
@@ -0,0 +1,9 @@
+package com.tastetrack.service;
+
+/**
+ * Produces the customer-facing order numbers stored in orders.order_number.
+ * Implementations must be thread-safe and never return the same value twice.
+ */
+public interface OrderNumberGenerator {
+    String next();
+}
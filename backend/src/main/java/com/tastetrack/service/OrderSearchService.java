@@ -0,0 +1,129 @@
+package com.tastetrack.service;
+
+import com.tastetrack.dto.AdminOrderPage;
+import com.tastetrack.dto.OrderView;
+import com.tastetrack.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order search for the admin console: any set of statuses, optionally one restaurant
+ * and a date range, newest first, a keyset page at a time.
+ *
+ * The page is one statement with a branch per status, each a range scan of
+ * idx_order_status_date (or idx_order_restaurant_status_date for one restaurant)
+ * reading at most limit + 1 keys already in order; the branches are merged and cut to
+ * the page. So a page costs the same however many orders the statuses hold, and rare
+ * statuses are not found by scanning past common ones. Per-status counts come from one
+ * GROUP BY over the same indexes, and the page's orders are then read as views.
+ */
+@Service
+public class OrderSearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    // Read-only transaction so the page and the counts come from the same snapshot
+    @Transactional(readOnly = true)
+    public AdminOrderPage search(Collection<Order.OrderStatus> statuses, Long restaurantId,
+                                 LocalDate from, LocalDate to, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        EnumSet<Order.OrderStatus> wanted = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Order.OrderStatus.class) : EnumSet.copyOf(statuses);
+        Object[] after = cursor == null || cursor.isEmpty() ? null : OrderService.decodeCursor(cursor);
+
+        List<Object> filterArgs = new ArrayList<>();
+        String filters = filters(restaurantId, from, to, filterArgs);
+
+        List<String> branches = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (Order.OrderStatus status : wanted) {
+            StringBuilder branch = new StringBuilder("SELECT id, order_date FROM orders WHERE status = ?").append(filters);
+            args.add(status.name());
+            args.addAll(filterArgs);
+            if (after != null) {
+                branch.append(" AND (order_date < ? OR (order_date = ? AND id < ?))");
+                Timestamp orderDate = Timestamp.valueOf((LocalDateTime) after[0]);
+                args.add(orderDate);
+                args.add(orderDate);
+                args.add(after[1]);
+            }
+            branches.add(branch.append(" ORDER BY order_date DESC, id DESC LIMIT ?").toString());
+            args.add(size + 1);
+        }
+        String sql = branches.get(0);
+        if (branches.size() > 1) {
+            sql = "(" + String.join(") UNION ALL (", branches) + ") ORDER BY order_date DESC, id DESC LIMIT ?";
+            args.add(size + 1);
+        }
+
+        List<Object[]> keys = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()},
+                args.toArray());
+        boolean hasMore = keys.size() > size;
+        if (hasMore) {
+            keys = keys.subList(0, size);
+        }
+
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Object[] key : keys) {
+            ids.add((Long) key[0]);
+        }
+        List<OrderView> orders = orderService.getOrderViews(ids);
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = keys.get(keys.size() - 1);
+            nextCursor = OrderService.encodeCursor((LocalDateTime) last[1], (Long) last[0]);
+        }
+        return new AdminOrderPage(orders, nextCursor, countByStatus(filters, filterArgs));
+    }
+
+    private Map<String, Long> countByStatus(String filters, List<Object> filterArgs) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM orders WHERE 1 = 1" + filters + " GROUP BY status",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                },
+                filterArgs.toArray());
+        return counts;
+    }
+
+    /**
+     * Conditions shared by every branch and the counts; from and to are whole days, both included.
+     */
+    private static String filters(Long restaurantId, LocalDate from, LocalDate to, List<Object> args) {
+        StringBuilder filters = new StringBuilder();
+        if (restaurantId != null) {
+            filters.append(" AND restaurant_id = ?");
+            args.add(restaurantId);
+        }
+        if (from != null) {
+            filters.append(" AND order_date >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            filters.append(" AND order_date < ?");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        return filters.toString();
+    }
+}
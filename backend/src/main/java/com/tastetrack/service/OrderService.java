@@ -1,20 +1,45 @@
 package com.tastetrack.service;
 
+import com.tastetrack.dto.DeliveryRequest;
+import com.tastetrack.dto.OrderChanges;
+import com.tastetrack.dto.OrderItemRequest;
+import com.tastetrack.dto.OrderItemView;
+import com.tastetrack.dto.OrderPage;
 import com.tastetrack.dto.OrderRequest;
+import com.tastetrack.dto.OrderView;
 import com.tastetrack.entity.*;
+import com.tastetrack.eta.EtaEstimator;
+import com.tastetrack.event.OrderEvent;
+import com.tastetrack.geo.ZipGazetteer;
 import com.tastetrack.repository.*;
+import com.tastetrack.search.RestaurantGeoIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class OrderService {
+    private static final int CHANGES_PAGE_SIZE = 200;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Keeps IN lists within what every database and the query plan cache handle well
+    private static final int VIEW_BATCH_SIZE = 1000;
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -22,43 +47,93 @@ public class OrderService {
     private OrderItemRepository orderItemRepository;
 
     @Autowired
-    private PaymentRepository paymentRepository;
+    private UserRepository userRepository;
 
     @Autowired
-    private DeliveryRepository deliveryRepository;
+    private RestaurantRepository restaurantRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private MenuItemRepository menuItemRepository;
 
     @Autowired
-    private RestaurantRepository restaurantRepository;
+    private OrderNumberGenerator orderNumberGenerator;
 
     @Autowired
-    private MenuItemRepository menuItemRepository;
+    private ZipGazetteer zipGazetteer;
+
+    @Autowired
+    private EtaEstimator etaEstimator;
+
+    @Autowired
+    private OrderChangeClock changeClock;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${vendor-orders.changes-grace-ms:5000}")
+    private long changesGraceMillis;
 
     @Transactional
     public Order createOrder(Long userId, OrderRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("Order must contain at least one item");
+        }
+        if (request.getDelivery() == null || request.getPayment() == null) {
+            throw new RuntimeException("Delivery and payment details are required");
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Restaurant restaurant = restaurantRepository.findById(request.getRestaurantId())
                 .orElseThrow(() -> new RuntimeException("Restaurant not found"));
 
+        if (!Boolean.TRUE.equals(restaurant.getIsOpen())) {
+            throw new RuntimeException("Restaurant is currently closed");
+        }
+
+        checkDeliveryArea(restaurant, request.getDelivery());
+
+        // Load every menu item in the cart with one query and validate in memory
+        Set<Long> menuItemIds = new HashSet<>();
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            if (itemRequest.getMenuItemId() == null) {
+                throw new RuntimeException("Menu item not found");
+            }
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new RuntimeException("Quantity must be at least 1");
+            }
+            menuItemIds.add(itemRequest.getMenuItemId());
+        }
+
+        Map<Long, MenuItem> menuItems = new HashMap<>();
+        for (MenuItem menuItem : menuItemRepository.findAllById(menuItemIds)) {
+            menuItems.put(menuItem.getId(), menuItem);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
         Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberGenerator.next());
         order.setUser(user);
         order.setRestaurant(restaurant);
         order.setDeliveryAddress(request.getDelivery().getDeliveryAddress());
-        order.setOrderDate(LocalDateTime.now());
+        order.setOrderDate(now);
         order.setStatus(Order.OrderStatus.PENDING);
-        order.setEstimatedDelivery(LocalDateTime.now().plusMinutes(45));
+        order.setChangeVersion(changeClock.next());
+        order.setEstimatedDelivery(now.plusSeconds(Math.round(etaEstimator.estimateMinutes(restaurant.getId()) * 60)));
 
         List<OrderItem> orderItems = new ArrayList<>();
         double total = 0.0;
 
-        for (var itemRequest : request.getItems()) {
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new RuntimeException("Menu item not found"));
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            MenuItem menuItem = menuItems.get(itemRequest.getMenuItemId());
+            if (menuItem == null) {
+                throw new RuntimeException("Menu item not found");
+            }
+            if (!restaurant.getId().equals(menuItem.getRestaurantId())) {
+                throw new RuntimeException("Menu item " + menuItem.getName() + " does not belong to this restaurant");
+            }
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -73,16 +148,14 @@ public class OrderService {
         order.setItems(orderItems);
         order.setTotal(total);
 
-        order = orderRepository.save(order);
-
         Payment payment = new Payment();
         payment.setOrder(order);
         payment.setAmount(total);
         payment.setPaymentMethod(Payment.PaymentMethod.valueOf(request.getPayment().getPaymentMethod()));
         payment.setStatus(Payment.PaymentStatus.COMPLETED);
-        payment.setPaymentDate(LocalDateTime.now());
+        payment.setPaymentDate(now);
         payment.setTransactionId(UUID.randomUUID().toString());
-        paymentRepository.save(payment);
+        order.setPayment(payment);
 
         Delivery delivery = new Delivery();
         delivery.setOrder(order);
@@ -94,35 +167,189 @@ public class OrderService {
         delivery.setDeliveryZip(request.getDelivery().getDeliveryZip());
         delivery.setDeliveryInstructions(request.getDelivery().getDeliveryInstructions());
         delivery.setStatus(Delivery.DeliveryStatus.PENDING);
-        deliveryRepository.save(delivery);
+        order.setDelivery(delivery);
+
+        // Items, payment and delivery are persisted through Order's cascades
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(OrderEvent.placed(saved));
+        return saved;
+    }
+
+    /**
+     * Reject addresses outside the restaurant's delivery radius. Skipped when there is
+     * no gazetteer data or the restaurant has no location.
+     */
+    private void checkDeliveryArea(Restaurant restaurant, DeliveryRequest delivery) {
+        if (!zipGazetteer.isEnabled() || restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return;
+        }
+        int index = zipGazetteer.indexOf(delivery.getDeliveryZip());
+        if (index == ZipGazetteer.NOT_FOUND) {
+            throw new RuntimeException("Unknown delivery zip code");
+        }
+        double distance = RestaurantGeoIndex.distanceKm(restaurant.getLatitude(), restaurant.getLongitude(),
+                zipGazetteer.latitudeAt(index), zipGazetteer.longitudeAt(index));
+        if (distance > RestaurantGeoIndex.radiusOf(restaurant)) {
+            throw new RuntimeException(restaurant.getName() + " does not deliver to " + delivery.getDeliveryZip());
+        }
+    }
+
+    /**
+     * A page of the user's orders, newest first, starting after cursor (null for the first page).
+     *
+     * The page is found by keyset on (order_date, id) using only the index, then just
+     * those orders are read as views.
+     */
+    public OrderPage getUserOrders(Long userId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Object[]> keys;
+        if (cursor == null || cursor.isEmpty()) {
+            keys = orderRepository.findUserOrderKeys(userId, page);
+        } else {
+            Object[] after = decodeCursor(cursor);
+            keys = orderRepository.findUserOrderKeysAfter(userId, (LocalDateTime) after[0], (Long) after[1], page);
+        }
+
+        boolean hasMore = keys.size() > size;
+        if (hasMore) {
+            keys = keys.subList(0, size);
+        }
+        if (keys.isEmpty()) {
+            return new OrderPage(List.of(), null);
+        }
+
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Object[] key : keys) {
+            ids.add((Long) key[0]);
+        }
+        List<OrderView> orders = getOrderViews(ids);
+
+        Object[] last = keys.get(keys.size() - 1);
+        return new OrderPage(orders, hasMore ? encodeCursor((LocalDateTime) last[1], (Long) last[0]) : null);
+    }
+
+    static String encodeCursor(LocalDateTime orderDate, Long id) {
+        String key = orderDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf('|');
+            return new Object[]{LocalDateTime.parse(key.substring(0, separator)), Long.parseLong(key.substring(separator + 1))};
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /**
+     * The restaurant's orders changed after version since, at most CHANGES_PAGE_SIZE at a time.
+     * Without since, only a version to start from is returned.
+     *
+     * Ids are read first with a range scan of (restaurant_id, change_version), then only
+     * those orders are read as views. A transaction may still commit a version
+     * lower than one already returned, so unless more changes are waiting, the returned
+     * version never passes the point vendor-orders.changes-grace-ms ago; the next call
+     * then repeats the few orders changed since, and clients apply them by id.
+     */
+    public OrderChanges getRestaurantOrderChanges(Long restaurantId, Long since) {
+        if (since == null) {
+            // Start of a sync: take a version first, then load the full order list
+            return new OrderChanges(List.of(), changeClock.horizon(changesGraceMillis), false);
+        }
+        List<Object[]> rows = orderRepository.findChangedIds(restaurantId, since,
+                PageRequest.of(0, CHANGES_PAGE_SIZE + 1));
+        boolean hasMore = rows.size() > CHANGES_PAGE_SIZE;
+        if (hasMore) {
+            rows = rows.subList(0, CHANGES_PAGE_SIZE);
+        }
+        if (rows.isEmpty()) {
+            return new OrderChanges(List.of(), since, false);
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        List<OrderView> orders = getOrderViews(ids);
+
+        long last = (Long) rows.get(rows.size() - 1)[1];
+        long version = hasMore ? last : Math.max(since, Math.min(last, changeClock.horizon(changesGraceMillis)));
+        return new OrderChanges(orders, version, hasMore);
+    }
 
-        return order;
+    public Optional<OrderView> getOrderById(Long id) {
+        return getOrderViews(List.of(id)).stream().findFirst();
     }
 
-    public List<Order> getUserOrders(Long userId) {
-        return orderRepository.findByUserIdOrderByOrderDateDesc(userId);
+    public Optional<OrderView> getOrderByOrderNumber(String orderNumber) {
+        return orderRepository.findIdByOrderNumber(orderNumber).flatMap(this::getOrderById);
     }
 
-    public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findByIdWithDetails(id);
+    public List<OrderView> getOrdersByStatus(Order.OrderStatus status) {
+        return getOrderViews(orderRepository.findIdsByStatus(status));
     }
 
-    public Optional<Order> getOrderByOrderNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber);
+    public List<OrderView> getRestaurantOrders(Long restaurantId) {
+        return getOrderViews(orderRepository.findIdsByRestaurantId(restaurantId));
     }
 
-    public List<Order> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    /**
+     * Read views of the given orders, in the order of ids; ids of missing orders are skipped.
+     *
+     * Two queries per VIEW_BATCH_SIZE orders whatever their number of items: one for the
+     * orders with their restaurant, customer, payment and delivery columns, one for all
+     * their items with the menu item columns. No entity is loaded.
+     */
+    public List<OrderView> getOrderViews(List<Long> ids) {
+        List<OrderView> views = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += VIEW_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + VIEW_BATCH_SIZE));
+            Map<Long, OrderView> loaded = new HashMap<>();
+            for (OrderView view : orderRepository.findViewsByIdIn(batch)) {
+                loaded.put(view.getId(), view);
+            }
+            if (loaded.isEmpty()) {
+                continue;
+            }
+            for (OrderItemView item : orderItemRepository.findViewsByOrderIdIn(loaded.keySet())) {
+                loaded.get(item.getOrderId()).getItems().add(item);
+            }
+            for (Long id : batch) {
+                OrderView view = loaded.get(id);
+                if (view != null) {
+                    views.add(view);
+                }
+            }
+        }
+        return views;
     }
 
+    @Transactional
     public Order updateOrderStatus(Long id, Order.OrderStatus status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        order.setStatus(status);
-        return orderRepository.save(order);
+        return applyStatus(order, status);
+    }
+
+    /**
+     * Status change made by a restaurant, which may only touch its own orders.
+     */
+    @Transactional
+    public Order updateOrderStatusForRestaurant(Long id, Long restaurantId, Order.OrderStatus status) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+
+        if (!order.getRestaurant().getId().equals(restaurantId)) {
+            throw new RuntimeException("Unauthorized: This order does not belong to your restaurant");
+        }
+        return applyStatus(order, status);
     }
 
+    @Transactional
     public void cancelOrder(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -132,11 +359,42 @@ public class OrderService {
             throw new RuntimeException("Cannot cancel this order");
         }
 
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        applyStatus(order, Order.OrderStatus.CANCELLED);
     }
 
-    private String generateOrderNumber() {
-        return "ORD" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+    /**
+     * Set the order status, keep the delivery status in step and publish the change.
+     */
+    private Order applyStatus(Order order, Order.OrderStatus status) {
+        Order.OrderStatus previous = order.getStatus();
+        order.setStatus(status);
+        if (previous != status) {
+            order.setChangeVersion(changeClock.next());
+        }
+
+        Delivery delivery = order.getDelivery();
+        if (delivery != null) {
+            switch (status) {
+                case OUT_FOR_DELIVERY -> {
+                    delivery.setStatus(Delivery.DeliveryStatus.OUT_FOR_DELIVERY);
+                    // Only the ride is left now
+                    order.setEstimatedDelivery(LocalDateTime.now().plusSeconds(
+                            Math.round(etaEstimator.deliveryMinutes(order.getRestaurant().getId()) * 60)));
+                }
+                case DELIVERED -> {
+                    delivery.setStatus(Delivery.DeliveryStatus.DELIVERED);
+                    delivery.setDeliveryDate(LocalDateTime.now());
+                }
+                case CANCELLED -> delivery.setStatus(Delivery.DeliveryStatus.CANCELLED);
+                default -> {
+                }
+            }
+        }
+
+        Order saved = orderRepository.save(order);
+        if (previous != status) {
+            eventPublisher.publishEvent(OrderEvent.statusChanged(saved, previous));
+        }
+        return saved;
     }
 }
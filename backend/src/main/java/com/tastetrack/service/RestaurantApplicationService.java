@@ -6,10 +6,12 @@ import com.tastetrack.dto.RestaurantApplicationResponse;
 import com.tastetrack.entity.Restaurant;
 import com.tastetrack.entity.RestaurantApplication;
 import com.tastetrack.entity.User;
+import com.tastetrack.event.CatalogChangeEvent;
 import com.tastetrack.repository.RestaurantApplicationRepository;
 import com.tastetrack.repository.RestaurantRepository;
 import com.tastetrack.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +37,12 @@ public class RestaurantApplicationService {
     @Autowired
     private jakarta.persistence.EntityManager entityManager;
 
+    @Autowired
+    private VendorContextService vendorContextService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public RestaurantApplicationResponse submitApplication(RestaurantApplicationRequest request) {
         // Check if email already exists in applications
         if (applicationRepository.existsByEmail(request.getEmail())) {
@@ -161,6 +169,7 @@ public class RestaurantApplicationService {
                     throw new RuntimeException("Failed to save restaurant - verification failed");
                 }
                 System.out.println("Restaurant verification successful - ID: " + verifyRestaurant.getId());
+                eventPublisher.publishEvent(CatalogChangeEvent.restaurantSaved(restaurant.getId()));
             }
 
             // Update application status
@@ -170,6 +179,7 @@ public class RestaurantApplicationService {
             application.setProcessedBy(adminEmail);
 
             application = applicationRepository.save(application);
+            vendorContextService.evictVendor(vendor.getEmail());
             System.out.println("Application approved successfully");
 
             // TODO: Send email notification to vendor with login credentials
@@ -1,8 +1,11 @@
 package com.tastetrack.service;
 
 import com.tastetrack.entity.Restaurant;
+import com.tastetrack.event.CatalogChangeEvent;
 import com.tastetrack.repository.RestaurantRepository;
+import com.tastetrack.search.RestaurantSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,9 +13,20 @@ import java.util.Optional;
 
 @Service
 public class RestaurantService {
+    private static final int SEARCH_LIMIT = 50;
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private VendorContextService vendorContextService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RestaurantSearchIndex restaurantSearchIndex;
+
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
@@ -26,19 +40,30 @@ public class RestaurantService {
     }
 
     public List<Restaurant> searchRestaurants(String query) {
+        if (restaurantSearchIndex.isReady()) {
+            return restaurantSearchIndex.search(query, SEARCH_LIMIT);
+        }
         return restaurantRepository.findByNameOrCuisineContaining(query);
     }
 
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(CatalogChangeEvent.restaurantSaved(saved.getId()));
+        return saved;
     }
 
     public Restaurant updateRestaurant(Long id, Restaurant restaurant) {
         restaurant.setId(id);
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        // The update may have changed or cleared the owner
+        vendorContextService.evictRestaurant(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.restaurantSaved(id));
+        return saved;
     }
 
     public void deleteRestaurant(Long id) {
         restaurantRepository.deleteById(id);
+        vendorContextService.evictRestaurant(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.restaurantDeleted(id));
     }
 }
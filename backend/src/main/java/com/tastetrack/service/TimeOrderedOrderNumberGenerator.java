@@ -0,0 +1,92 @@
+package com.tastetrack.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered order numbers such as ORD0J8Q4Z1C00A7.
+ *
+ * Each number packs 56 bits: 32 bits of seconds since 2024-01-01, an 8 bit node id
+ * and a 16 bit per-second sequence, written as 12 Crockford base32 characters so
+ * they sort by creation time and avoid ambiguous letters.
+ *
+ * Seconds and sequence share one AtomicLong and are advanced with a CAS loop, so
+ * no lock is taken. When a second's 65,536 sequence values run out the counter
+ * simply carries into the next second, and a clock that steps backwards is ignored,
+ * which keeps numbers unique on a node. Uniqueness across instances comes from the
+ * node id, so every instance must be given a distinct orders.node-id.
+ */
+@Component
+public class TimeOrderedOrderNumberGenerator implements OrderNumberGenerator {
+    private static final long EPOCH_SECONDS = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+    private static final int SEQUENCE_BITS = 16;
+    private static final int NODE_BITS = 8;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 12;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    @Value("${orders.node-id:-1}")
+    private int configuredNodeId;
+
+    private int nodeId;
+
+    // (seconds since EPOCH_SECONDS << SEQUENCE_BITS) | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("orders.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeId = configuredNodeId >= 0 ? configuredNodeId : hostNodeId();
+        state.set(currentSecond() << SEQUENCE_BITS);
+        System.out.println("Order number generator using node id " + nodeId);
+    }
+
+    @Override
+    public String next() {
+        long packed;
+        while (true) {
+            long current = state.get();
+            long now = currentSecond();
+            // A full sequence carries into the seconds bits, borrowing the next second
+            long next = (now > current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                packed = next;
+                break;
+            }
+        }
+
+        long seconds = packed >>> SEQUENCE_BITS;
+        long sequence = packed & SEQUENCE_MASK;
+        long id = (seconds << (NODE_BITS + SEQUENCE_BITS)) | ((long) nodeId << SEQUENCE_BITS) | sequence;
+        return "ORD" + encode(id);
+    }
+
+    private static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+    }
+
+    private static int hostNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE_ID;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
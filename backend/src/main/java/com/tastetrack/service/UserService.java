@@ -4,6 +4,7 @@ import com.tastetrack.dto.AuthResponse;
 import com.tastetrack.dto.LoginRequest;
 import com.tastetrack.dto.SignupRequest;
 import com.tastetrack.entity.User;
+import com.tastetrack.reporting.CustomerCohorts;
 import com.tastetrack.repository.UserRepository;
 import com.tastetrack.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,9 @@ public class UserService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private CustomerCohorts customerCohorts;
+
     public AuthResponse signup(SignupRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -38,8 +42,9 @@ public class UserService {
         user.setEnabled(true);
 
         user = userRepository.save(user);
+        customerCohorts.recordSignup(user.getId());
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
         return new AuthResponse(token, user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole().name());
     }
 
@@ -67,7 +72,7 @@ public class UserService {
             throw new RuntimeException("Account is disabled");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
         return new AuthResponse(token, user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole().name());
     }
 
@@ -0,0 +1,14 @@
+package com.tastetrack.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Ids that identify an authenticated vendor and the restaurant they own.
+ */
+@Data
+@AllArgsConstructor
+public class VendorContext {
+    private Long vendorId;
+    private Long restaurantId;
+}
@@ -0,0 +1,59 @@
+package com.tastetrack.service;
+
+import com.tastetrack.entity.Restaurant;
+import com.tastetrack.entity.User;
+import com.tastetrack.repository.RestaurantRepository;
+import com.tastetrack.repository.UserRepository;
+import com.tastetrack.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the vendor and restaurant ids behind a vendor email.
+ *
+ * The mapping only changes when a restaurant is created for a vendor or its owner
+ * changes, so it is cached by email and evicted explicitly on those writes. The TTL
+ * is a safety net for changes made directly in the database.
+ */
+@Service
+public class VendorContextService {
+    private static final int MAX_VENDORS = 5_000;
+    private static final long TTL_MILLIS = 10 * 60 * 1000L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final BoundedCache<String, VendorContext> contexts = new BoundedCache<>(MAX_VENDORS);
+
+    public VendorContext resolve(String email) {
+        VendorContext context = contexts.get(email);
+        if (context != null) {
+            return context;
+        }
+
+        User vendor = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Vendor not found"));
+
+        Restaurant restaurant = restaurantRepository.findByOwner(vendor)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found for this vendor"));
+
+        context = new VendorContext(vendor.getId(), restaurant.getId());
+        contexts.put(email, context, System.currentTimeMillis() + TTL_MILLIS);
+        return context;
+    }
+
+    public void evictVendor(String email) {
+        contexts.invalidate(email);
+    }
+
+    public void evictRestaurant(Long restaurantId) {
+        contexts.invalidateIf(context -> context.getRestaurantId().equals(restaurantId));
+    }
+
+    public void evictAll() {
+        contexts.clear();
+    }
+}
@@ -0,0 +1,64 @@
+package com.tastetrack.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tastetrack.dto.OrderStatusUpdate;
+import com.tastetrack.entity.Order;
+import com.tastetrack.event.OrderEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes order status changes to the Server-Sent Event streams of customers tracking
+ * that order.
+ *
+ * Streams are async requests, so an idle subscriber holds a socket and a few objects
+ * but no thread. Subscribing reads nothing from the database: a stream starts empty and
+ * receives an event for each status change published after it. Streams are completed
+ * after DELIVERED or CANCELLED.
+ */
+@Component
+public class OrderEventHub {
+    private static final int SENDER_THREADS = 2;
+    // A customer stream sees a handful of events per order
+    private static final int BUFFER_SIZE = 16;
+
+    private final SseFanout<String> fanout;
+
+    public OrderEventHub(ObjectMapper objectMapper, @Value("${sse.timeout-ms:1800000}") long timeoutMillis) {
+        this.fanout = new SseFanout<>("order-events", objectMapper, SENDER_THREADS, BUFFER_SIZE, timeoutMillis);
+    }
+
+    public SseEmitter subscribe(String orderNumber) {
+        return fanout.subscribe(orderNumber);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() != OrderEvent.Type.STATUS_CHANGED || !fanout.hasSubscribers(event.getOrderNumber())) {
+            return;
+        }
+        fanout.publish(event.getOrderNumber(), "status", new OrderStatusUpdate(
+                event.getOrderNumber(),
+                event.getStatus().name(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getEstimatedDelivery(),
+                event.getOccurredAt()));
+        if (event.getStatus() == Order.OrderStatus.DELIVERED || event.getStatus() == Order.OrderStatus.CANCELLED) {
+            fanout.complete(event.getOrderNumber());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        fanout.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
+    }
+}
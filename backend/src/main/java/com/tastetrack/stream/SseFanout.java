@@ -0,0 +1,217 @@
+package com.tastetrack.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fan-out of events to Server-Sent Event subscribers grouped by key.
+ *
+ * Publishing never touches a socket: an event is serialized to JSON once, and each
+ * subscriber has a buffer of at most bufferSize events and a drain task on a small
+ * sender pool that writes them out in order. When a subscriber falls behind, its oldest
+ * buffered events are dropped and it receives a "resync" event before the next one,
+ * telling the client to reload instead of trusting the stream. A slow client therefore
+ * costs a bounded buffer and, at worst, one sender thread while its socket write blocks
+ * (until the connector's write timeout), never the thread that published.
+ */
+public class SseFanout<K> {
+    private static final Object HEARTBEAT = new Object();
+    private static final Object COMPLETE = new Object();
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor sender;
+    private final ConcurrentHashMap<K, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public SseFanout(String name, ObjectMapper objectMapper, int senderThreads, int bufferSize, long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMillis = timeoutMillis;
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Idle streams need no sender at all
+        sender.allowCoreThreadTimeOut(true);
+    }
+
+    public SseEmitter subscribe(K key) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        // compute, not computeIfAbsent: must not race with the last subscriber removing the set
+        subscribers.compute(key, (k, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> unsubscribe(key, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> emitter.complete());
+        try {
+            // Commits the response headers so the client sees the stream open
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public boolean hasSubscribers(K key) {
+        return subscribers.containsKey(key);
+    }
+
+    /**
+     * Queue a named JSON event for every subscriber of key.
+     */
+    public void publish(K key, String name, Object data) {
+        Set<Subscriber> set = subscribers.get(key);
+        if (set != null) {
+            Message message;
+            try {
+                message = new Message(name, objectMapper.writeValueAsString(data));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Could not serialize " + name + " event", e);
+            }
+            set.forEach(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    /**
+     * Close the streams of key once everything queued for them has been written.
+     */
+    public void complete(K key) {
+        Set<Subscriber> set = subscribers.get(key);
+        if (set != null) {
+            set.forEach(subscriber -> subscriber.offer(COMPLETE));
+        }
+    }
+
+    /**
+     * Write a comment to idle streams so proxies keep them open and dead ones are noticed.
+     */
+    public void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            set.forEach(Subscriber::heartbeat);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public long droppedEvents() {
+        return dropped.sum();
+    }
+
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void unsubscribe(K key, Subscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private record Message(String name, String json) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // Guarded by this
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        private boolean overflowed;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Object message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    overflowed = true;
+                    dropped.increment();
+                }
+                buffer.addLast(message);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                // Anything already queued keeps the stream alive by itself
+                if (closed || draining) {
+                    return;
+                }
+                buffer.addLast(HEARTBEAT);
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        synchronized void close() {
+            closed = true;
+            buffer.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                Object message;
+                boolean resync;
+                synchronized (this) {
+                    message = buffer.pollFirst();
+                    if (message == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                    resync = overflowed;
+                    overflowed = false;
+                }
+                try {
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name("resync").data("{}"));
+                    }
+                    if (message == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else if (message == COMPLETE) {
+                        emitter.complete();
+                        close();
+                    } else {
+                        Message event = (Message) message;
+                        emitter.send(SseEmitter.event().name(event.name()).data(event.json()));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    emitter.complete();
+                    close();
+                }
+            }
+        }
+    }
+}
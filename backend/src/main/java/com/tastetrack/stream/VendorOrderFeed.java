@@ -0,0 +1,65 @@
+package com.tastetrack.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tastetrack.dto.VendorOrderUpdate;
+import com.tastetrack.event.OrderEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live order feed for restaurant dashboards: an "order" event for each new order and a
+ * "status" event for each status change, on one Server-Sent Event stream per restaurant.
+ *
+ * Events are queued per dashboard by {@link SseFanout}, so placing an order only costs
+ * a few buffer appends no matter how slow a restaurant's tablet is. A dashboard that
+ * falls more than vendor-feed.buffer-size events behind gets a "resync" event and
+ * reloads its orders.
+ */
+@Component
+public class VendorOrderFeed {
+    private final SseFanout<Long> fanout;
+
+    public VendorOrderFeed(ObjectMapper objectMapper,
+                           @Value("${sse.timeout-ms:1800000}") long timeoutMillis,
+                           @Value("${vendor-feed.buffer-size:64}") int bufferSize,
+                           @Value("${vendor-feed.sender-threads:16}") int senderThreads) {
+        this.fanout = new SseFanout<>("vendor-feed", objectMapper, senderThreads, bufferSize, timeoutMillis);
+    }
+
+    public SseEmitter subscribe(Long restaurantId) {
+        return fanout.subscribe(restaurantId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (!fanout.hasSubscribers(event.getRestaurantId())) {
+            return;
+        }
+        VendorOrderUpdate update = new VendorOrderUpdate(
+                event.getOrderId(),
+                event.getOrderNumber(),
+                event.getTotal(),
+                event.getStatus().name(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getDeliveryAddress(),
+                event.getOrderDate(),
+                event.getEstimatedDelivery(),
+                event.getOccurredAt());
+        fanout.publish(event.getRestaurantId(), event.getType() == OrderEvent.Type.PLACED ? "order" : "status", update);
+    }
+
+    @Scheduled(fixedRateString = "${sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        fanout.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.tastetrack.tracking;
+
+import com.tastetrack.entity.Courier;
+import com.tastetrack.repository.CourierRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live courier positions, kept in memory and persisted as a downsampled track.
+ *
+ * Every accepted ping goes into the courier's {@link CourierTrack} ring buffer, which
+ * also holds the latest position; reads for order tracking come from there and never
+ * touch the database. Only sampled points (one per tracking.sample-interval-ms, or
+ * sooner after moving tracking.sample-distance-m) are queued for storage, and the
+ * queue is written to courier_locations with one JDBC batch insert every
+ * tracking.flush-interval-ms. If the queue is full, new samples are dropped rather
+ * than slowing down ingestion.
+ *
+ * Pings are authenticated with the courier's device token, cached here so the hot
+ * path does not query the couriers table.
+ */
+@Service
+public class CourierLocationStore {
+    private static final int TRACK_POINTS = 64;
+    private static final int QUEUE_CAPACITY = 100_000;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO courier_locations (courier_id, latitude, longitude, recorded_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${tracking.sample-interval-ms:15000}")
+    private long sampleIntervalMillis;
+
+    @Value("${tracking.sample-distance-m:100}")
+    private double sampleDistanceMeters;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentHashMap<Long, byte[]> deviceTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CourierTrack> tracks = new ConcurrentHashMap<>();
+    private final ArrayBlockingQueue<LocationSample> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDeviceTokens() {
+        for (Courier courier : courierRepository.findAll()) {
+            register(courier);
+        }
+        System.out.println("Courier tracking ready for " + deviceTokens.size() + " devices");
+    }
+
+    /**
+     * Give a courier a new device token, invalidating the previous one.
+     */
+    public String issueDeviceToken(Long courierId) {
+        Courier courier = courierRepository.findById(courierId)
+                .orElseThrow(() -> new RuntimeException("Courier not found"));
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        courier.setDeviceToken(token);
+        register(courierRepository.save(courier));
+        return token;
+    }
+
+    /**
+     * Check the token sent by a courier's device.
+     */
+    public void authenticate(long courierId, String deviceToken) {
+        byte[] expected = deviceTokens.get(courierId);
+        if (expected == null || deviceToken == null
+                || !MessageDigest.isEqual(expected, deviceToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new RuntimeException("Invalid courier device token");
+        }
+    }
+
+    /**
+     * Accept a ping from an authenticated courier. Returns false for a ping older than
+     * the courier's latest position, which is ignored.
+     */
+    public boolean record(long courierId, double latitude, double longitude, Long recordedAt) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        long now = System.currentTimeMillis();
+        // Device clocks run ahead sometimes; never accept a ping from the future
+        long time = recordedAt == null ? now : Math.min(recordedAt, now);
+
+        LocationSample sample = new LocationSample(courierId, latitude, longitude, time);
+        CourierTrack track = tracks.computeIfAbsent(courierId, id -> new CourierTrack(TRACK_POINTS));
+        CourierTrack.Outcome outcome = track.add(sample, sampleIntervalMillis, sampleDistanceMeters / 1000.0);
+        if (outcome == CourierTrack.Outcome.STALE) {
+            stale.increment();
+            return false;
+        }
+        accepted.increment();
+        if (outcome == CourierTrack.Outcome.SAMPLED && !pending.offer(sample)) {
+            dropped.increment();
+        }
+        return true;
+    }
+
+    public LocationSample latest(Long courierId) {
+        CourierTrack track = tracks.get(courierId);
+        return track == null ? null : track.latest();
+    }
+
+    /**
+     * Up to limit recent [latitude, longitude] points of a courier, oldest first.
+     */
+    public List<double[]> path(Long courierId, int limit) {
+        CourierTrack track = tracks.get(courierId);
+        return track == null ? List.of() : track.path(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.flush-interval-ms:5000}")
+    public void flush() {
+        List<LocationSample> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        while (pending.drainTo(batch, FLUSH_BATCH_SIZE) > 0) {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (LocationSample sample : batch) {
+                rows.add(new Object[]{sample.courierId(), sample.latitude(), sample.longitude(),
+                        Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(sample.recordedAt()), ZoneId.systemDefault()))});
+            }
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                persisted.add(batch.size());
+            } catch (DataAccessException e) {
+                // Stored tracks are best effort; the live position is unaffected
+                failed.add(batch.size());
+                System.out.println("Could not store " + batch.size() + " courier locations: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedCouriers", tracks.size());
+        stats.put("acceptedPings", accepted.sum());
+        stats.put("stalePings", stale.sum());
+        stats.put("pendingSamples", pending.size());
+        stats.put("persistedSamples", persisted.sum());
+        stats.put("droppedSamples", dropped.sum());
+        stats.put("failedSamples", failed.sum());
+        return stats;
+    }
+
+    private void register(Courier courier) {
+        if (courier.getDeviceToken() != null) {
+            deviceTokens.put(courier.getId(), courier.getDeviceToken().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
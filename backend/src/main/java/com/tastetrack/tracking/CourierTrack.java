@@ -0,0 +1,80 @@
+package com.tastetrack.tracking;
+
+import com.tastetrack.search.RestaurantGeoIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The most recent positions of one courier in a fixed-size ring buffer.
+ *
+ * Pings from one device arrive one after another, so the monitor is effectively
+ * uncontended; readers of the current position use {@link #latest()} and never lock.
+ */
+final class CourierTrack {
+    enum Outcome { STALE, BUFFERED, SAMPLED }
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] times;
+    private int next;
+    private int size;
+    private volatile LocationSample latest;
+
+    // Last point handed over for persistence
+    private long sampledAt = Long.MIN_VALUE;
+    private double sampledLatitude;
+    private double sampledLongitude;
+
+    CourierTrack(int capacity) {
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        times = new long[capacity];
+    }
+
+    /**
+     * Buffer a ping. Pings older than the latest one are dropped; a ping is SAMPLED
+     * for persistence when at least sampleIntervalMillis have passed or the courier has
+     * moved sampleDistanceKm since the previous sampled point.
+     */
+    synchronized Outcome add(LocationSample sample, long sampleIntervalMillis, double sampleDistanceKm) {
+        if (latest != null && sample.recordedAt() <= latest.recordedAt()) {
+            return Outcome.STALE;
+        }
+        latitudes[next] = sample.latitude();
+        longitudes[next] = sample.longitude();
+        times[next] = sample.recordedAt();
+        next = (next + 1) % times.length;
+        size = Math.min(size + 1, times.length);
+        latest = sample;
+
+        if (sampledAt != Long.MIN_VALUE
+                && sample.recordedAt() - sampledAt < sampleIntervalMillis
+                && RestaurantGeoIndex.distanceKm(sampledLatitude, sampledLongitude,
+                        sample.latitude(), sample.longitude()) < sampleDistanceKm) {
+            return Outcome.BUFFERED;
+        }
+        sampledAt = sample.recordedAt();
+        sampledLatitude = sample.latitude();
+        sampledLongitude = sample.longitude();
+        return Outcome.SAMPLED;
+    }
+
+    LocationSample latest() {
+        return latest;
+    }
+
+    /**
+     * Up to limit recent [latitude, longitude] points, oldest first.
+     */
+    synchronized List<double[]> path(int limit) {
+        int count = Math.min(Math.max(limit, 0), size);
+        List<double[]> path = new ArrayList<>(count);
+        int start = next - count;
+        for (int i = 0; i < count; i++) {
+            int slot = Math.floorMod(start + i, times.length);
+            path.add(new double[]{latitudes[slot], longitudes[slot]});
+        }
+        return path;
+    }
+}
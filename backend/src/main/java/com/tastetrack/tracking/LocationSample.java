@@ -0,0 +1,7 @@
+package com.tastetrack.tracking;
+
+/**
+ * One position reported by a courier; recordedAt is in epoch milliseconds.
+ */
+public record LocationSample(long courierId, double latitude, double longitude, long recordedAt) {
+}
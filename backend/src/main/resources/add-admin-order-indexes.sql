@@ -0,0 +1,57 @@
+-- Add the indexes behind the admin order search
+USE tastetrack_db;
+
+-- idx_order_status_date
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_order_status_date'
+);
+
+SET @sql = IF(@index_exists = 0, 
+    'CREATE INDEX idx_order_status_date ON orders(status, order_date, id)', 
+    'SELECT "Index idx_order_status_date already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- idx_order_restaurant_status_date
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_order_restaurant_status_date'
+);
+
+SET @sql = IF(@index_exists = 0, 
+    'CREATE INDEX idx_order_restaurant_status_date ON orders(restaurant_id, status, order_date, id)', 
+    'SELECT "Index idx_order_restaurant_status_date already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- idx_order_status is a prefix of idx_order_status_date
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_order_status'
+);
+
+SET @sql = IF(@index_exists > 0, 
+    'DROP INDEX idx_order_status ON orders', 
+    'SELECT "Index idx_order_status already dropped" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verify the change
+SELECT INDEX_NAME, COLUMN_NAME, SEQ_IN_INDEX 
+FROM INFORMATION_SCHEMA.STATISTICS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'orders' 
+AND INDEX_NAME IN ('idx_order_status_date', 'idx_order_restaurant_status_date');
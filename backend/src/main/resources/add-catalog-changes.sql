@@ -0,0 +1,18 @@
+-- Add the catalog change log used by offline catalog sync
+USE tastetrack_db;
+
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT,
+    restaurant_id BIGINT,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_catalog_change_entity (entity_type, entity_id)
+);
+
+-- Verify the change
+SELECT COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE 
+FROM INFORMATION_SCHEMA.COLUMNS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'catalog_changes';
@@ -0,0 +1,48 @@
+-- Add couriers table and courier assignment columns to deliveries table
+USE tastetrack_db;
+
+CREATE TABLE IF NOT EXISTS couriers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    zone INT NOT NULL DEFAULT 0,
+    active BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- courier_id
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'deliveries' 
+    AND COLUMN_NAME = 'courier_id'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE deliveries ADD COLUMN courier_id BIGINT NULL, ADD INDEX idx_delivery_courier (courier_id), ADD FOREIGN KEY (courier_id) REFERENCES couriers(id) ON DELETE SET NULL', 
+    'SELECT "Column courier_id already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- assigned_at
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'deliveries' 
+    AND COLUMN_NAME = 'assigned_at'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE deliveries ADD COLUMN assigned_at TIMESTAMP NULL', 
+    'SELECT "Column assigned_at already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verify the change
+SELECT COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE 
+FROM INFORMATION_SCHEMA.COLUMNS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'deliveries';
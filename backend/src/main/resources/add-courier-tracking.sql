@@ -0,0 +1,34 @@
+-- Add courier device tokens and the courier_locations table
+USE tastetrack_db;
+
+-- device_token
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'couriers' 
+    AND COLUMN_NAME = 'device_token'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE couriers ADD COLUMN device_token VARCHAR(64) NULL UNIQUE', 
+    'SELECT "Column device_token already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE TABLE IF NOT EXISTS courier_locations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    courier_id BIGINT NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    recorded_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_courier_location_time (courier_id, recorded_at),
+    FOREIGN KEY (courier_id) REFERENCES couriers(id) ON DELETE CASCADE
+);
+
+-- Verify the change
+SELECT COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE 
+FROM INFORMATION_SCHEMA.COLUMNS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME IN ('couriers', 'courier_locations');
@@ -0,0 +1,44 @@
+-- Add the change version used by the vendor order delta sync
+USE tastetrack_db;
+
+-- change_version
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND COLUMN_NAME = 'change_version'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE orders ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0', 
+    'SELECT "Column change_version already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Existing orders get versions below any the application issues, in id order
+UPDATE orders SET change_version = id WHERE change_version = 0;
+
+-- idx_order_restaurant_change
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_order_restaurant_change'
+);
+
+SET @sql = IF(@index_exists = 0, 
+    'CREATE INDEX idx_order_restaurant_change ON orders(restaurant_id, change_version)', 
+    'SELECT "Index idx_order_restaurant_change already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verify the change
+SELECT INDEX_NAME, COLUMN_NAME, SEQ_IN_INDEX 
+FROM INFORMATION_SCHEMA.STATISTICS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'orders' 
+AND INDEX_NAME = 'idx_order_restaurant_change';
@@ -0,0 +1,41 @@
+-- Add the index behind the paginated customer order history
+USE tastetrack_db;
+
+-- idx_order_user_date
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_order_user_date'
+);
+
+SET @sql = IF(@index_exists = 0, 
+    'CREATE INDEX idx_order_user_date ON orders(user_id, order_date, id)', 
+    'SELECT "Index idx_order_user_date already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- idx_user_id is a prefix of idx_order_user_date, which now also serves the user_id foreign key
+SET @index_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.STATISTICS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND INDEX_NAME = 'idx_user_id'
+);
+
+SET @sql = IF(@index_exists > 0, 
+    'DROP INDEX idx_user_id ON orders', 
+    'SELECT "Index idx_user_id already dropped" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verify the change
+SELECT INDEX_NAME, COLUMN_NAME, SEQ_IN_INDEX 
+FROM INFORMATION_SCHEMA.STATISTICS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'orders' 
+AND INDEX_NAME = 'idx_order_user_date';
@@ -0,0 +1,52 @@
+-- Add the hourly and daily order rollups read by admin reports
+USE tastetrack_db;
+
+-- rolled_up: whether an order is counted in the rollups; existing orders are added by the backfill
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'orders' 
+    AND COLUMN_NAME = 'rolled_up'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE orders ADD COLUMN rolled_up BOOLEAN NOT NULL DEFAULT FALSE', 
+    'SELECT "Column rolled_up already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+CREATE TABLE IF NOT EXISTS order_rollup_hourly (
+    bucket_start DATETIME NOT NULL,
+    restaurant_id BIGINT NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    orders BIGINT NOT NULL,
+    revenue_cents BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, restaurant_id, payment_method),
+    INDEX idx_rollup_hourly_restaurant (restaurant_id, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS order_rollup_daily (
+    bucket_start DATETIME NOT NULL,
+    restaurant_id BIGINT NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    orders BIGINT NOT NULL,
+    revenue_cents BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, restaurant_id, payment_method),
+    INDEX idx_rollup_daily_restaurant (restaurant_id, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS rollup_state (
+    name VARCHAR(50) PRIMARY KEY,
+    last_order_id BIGINT NOT NULL,
+    target_order_id BIGINT NOT NULL,
+    completed_at DATETIME
+);
+
+-- Verify the change
+SELECT TABLE_NAME, COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE 
+FROM INFORMATION_SCHEMA.COLUMNS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND (TABLE_NAME IN ('order_rollup_hourly', 'order_rollup_daily', 'rollup_state') 
+    OR (TABLE_NAME = 'orders' AND COLUMN_NAME = 'rolled_up'));
@@ -0,0 +1,56 @@
+-- Add location and delivery radius columns to restaurants table
+USE tastetrack_db;
+
+-- latitude
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'restaurants' 
+    AND COLUMN_NAME = 'latitude'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE restaurants ADD COLUMN latitude DOUBLE NULL', 
+    'SELECT "Column latitude already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- longitude
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'restaurants' 
+    AND COLUMN_NAME = 'longitude'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE restaurants ADD COLUMN longitude DOUBLE NULL', 
+    'SELECT "Column longitude already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- delivery_radius_km
+SET @column_exists = (
+    SELECT COUNT(*) 
+    FROM INFORMATION_SCHEMA.COLUMNS 
+    WHERE TABLE_SCHEMA = 'tastetrack_db' 
+    AND TABLE_NAME = 'restaurants' 
+    AND COLUMN_NAME = 'delivery_radius_km'
+);
+
+SET @sql = IF(@column_exists = 0, 
+    'ALTER TABLE restaurants ADD COLUMN delivery_radius_km DOUBLE NULL', 
+    'SELECT "Column delivery_radius_km already exists" AS message');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Verify the change
+SELECT COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE 
+FROM INFORMATION_SCHEMA.COLUMNS 
+WHERE TABLE_SCHEMA = 'tastetrack_db' 
+AND TABLE_NAME = 'restaurants';
@@ -29,6 +29,9 @@ CREATE TABLE IF NOT EXISTS restaurants (
     image VARCHAR(2048),
     address VARCHAR(255) NOT NULL,
     is_open BOOLEAN NOT NULL DEFAULT TRUE,
+    latitude DOUBLE,
+    longitude DOUBLE,
+    delivery_radius_km DOUBLE,
     owner_id BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
@@ -62,6 +65,8 @@ CREATE TABLE IF NOT EXISTS orders (
     delivery_address VARCHAR(255) NOT NULL,
     order_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     estimated_delivery TIMESTAMP,
+    change_version BIGINT NOT NULL DEFAULT 0,
+    rolled_up BOOLEAN NOT NULL DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
@@ -94,6 +99,53 @@ CREATE TABLE IF NOT EXISTS payments (
     FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
 
+-- Couriers table
+CREATE TABLE IF NOT EXISTS couriers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    zone INT NOT NULL DEFAULT 0,
+    active BOOLEAN NOT NULL DEFAULT FALSE,
+    device_token VARCHAR(64) UNIQUE
+);
+
+-- Catalog change log, read by clients syncing an offline copy of the catalog
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT,
+    restaurant_id BIGINT,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL
+);
+
+-- Delivered orders and revenue per hour and per day, read by admin reports
+CREATE TABLE IF NOT EXISTS order_rollup_hourly (
+    bucket_start DATETIME NOT NULL,
+    restaurant_id BIGINT NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    orders BIGINT NOT NULL,
+    revenue_cents BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, restaurant_id, payment_method)
+);
+
+CREATE TABLE IF NOT EXISTS order_rollup_daily (
+    bucket_start DATETIME NOT NULL,
+    restaurant_id BIGINT NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    orders BIGINT NOT NULL,
+    revenue_cents BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, restaurant_id, payment_method)
+);
+
+-- Progress of the rollup backfill
+CREATE TABLE IF NOT EXISTS rollup_state (
+    name VARCHAR(50) PRIMARY KEY,
+    last_order_id BIGINT NOT NULL,
+    target_order_id BIGINT NOT NULL,
+    completed_at DATETIME
+);
+
 -- Deliveries table
 CREATE TABLE IF NOT EXISTS deliveries (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -106,10 +158,23 @@ CREATE TABLE IF NOT EXISTS deliveries (
     delivery_zip VARCHAR(10) NOT NULL,
     delivery_instructions VARCHAR(500),
     delivery_date TIMESTAMP,
+    courier_id BIGINT,
+    assigned_at TIMESTAMP NULL,
     status ENUM('PENDING', 'CONFIRMED', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED') NOT NULL DEFAULT 'PENDING',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (courier_id) REFERENCES couriers(id) ON DELETE SET NULL
+);
+
+-- Courier location samples, downsampled from live pings
+CREATE TABLE IF NOT EXISTS courier_locations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    courier_id BIGINT NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    recorded_at TIMESTAMP(3) NOT NULL,
+    FOREIGN KEY (courier_id) REFERENCES couriers(id) ON DELETE CASCADE
 );
 
 -- Insert sample data
@@ -236,6 +301,13 @@ INSERT INTO menu_items (name, description, price, image, category, restaurant_id
 
 
 CREATE INDEX idx_restaurant_id ON menu_items(restaurant_id);
-CREATE INDEX idx_user_id ON orders(user_id);
-CREATE INDEX idx_order_status ON orders(status);
-CREATE INDEX idx_order_date ON orders(order_date);
\ No newline at end of file
+CREATE INDEX idx_order_user_date ON orders(user_id, order_date, id);
+CREATE INDEX idx_order_status_date ON orders(status, order_date, id);
+CREATE INDEX idx_order_restaurant_status_date ON orders(restaurant_id, status, order_date, id);
+CREATE INDEX idx_order_date ON orders(order_date);
+CREATE INDEX idx_order_restaurant_change ON orders(restaurant_id, change_version);
+CREATE INDEX idx_delivery_courier ON deliveries(courier_id);
+CREATE INDEX idx_courier_location_time ON courier_locations(courier_id, recorded_at);
+CREATE INDEX idx_catalog_change_entity ON catalog_changes(entity_type, entity_id);
+CREATE INDEX idx_rollup_hourly_restaurant ON order_rollup_hourly(restaurant_id, bucket_start);
+CREATE INDEX idx_rollup_daily_restaurant ON order_rollup_daily(restaurant_id, bucket_start);
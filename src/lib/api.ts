@@ -167,31 +167,29 @@ export const orderAPI = {
     return handleResponse(response);
   },
 
-  async getAll() {
-    const response = await fetch(`${API_BASE_URL}/orders/status/PENDING`, {
+  // Admin console: a page of orders matching the filters, newest first, with the order count per status;
+  // pass the returned nextCursor with the same filters for the next page
+  async search(filters: {
+    statuses?: string[]; restaurantId?: string; from?: string; to?: string; cursor?: string; limit?: number;
+  }) {
+    const params = new URLSearchParams();
+    filters.statuses?.forEach((status) => params.append('status', status));
+    if (filters.restaurantId) params.set('restaurantId', filters.restaurantId);
+    if (filters.from) params.set('from', filters.from);
+    if (filters.to) params.set('to', filters.to);
+    if (filters.cursor) params.set('cursor', filters.cursor);
+    if (filters.limit) params.set('limit', String(filters.limit));
+    const response = await fetch(`${API_BASE_URL}/admin/orders?${params}`, {
       headers: getAuthHeaders(),
       credentials: 'include'
     });
-    const pending = await handleResponse(response);
-
-    // Get all statuses
-    const statuses = ['CONFIRMED', 'PREPARING', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED'];
-    const allOrders = [...pending];
-
-    for (const status of statuses) {
-      const res = await fetch(`${API_BASE_URL}/orders/status/${status}`, {
-        headers: getAuthHeaders(),
-        credentials: 'include'
-      });
-      const orders = await handleResponse(res);
-      allOrders.push(...orders);
-    }
-
-    return allOrders;
+    return handleResponse(response);
   },
 
-  async getByUser() {
-    const response = await fetch(`${API_BASE_URL}/orders/user`, {
+  // A page of the user's orders, newest first; pass the returned nextCursor for the next page
+  async getByUser(cursor?: string) {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await fetch(`${API_BASE_URL}/orders/user${query}`, {
       headers: getAuthHeaders(),
       credentials: 'include'
     });
@@ -214,6 +212,24 @@ export const orderAPI = {
     return handleResponse(response);
   },
 
+  // Live status updates; the caller closes the returned EventSource
+  subscribeToEvents(orderNumber: string, onUpdate: (update: any) => void) {
+    const source = new EventSource(`${API_BASE_URL}/orders/${encodeURIComponent(orderNumber)}/events`);
+    source.addEventListener('status', (event) => {
+      onUpdate(JSON.parse((event as MessageEvent).data));
+    });
+    return source;
+  },
+
+  // Resolves to an empty object until a courier is assigned and has reported a position
+  async getCourierLocation(id: string) {
+    const response = await fetch(`${API_BASE_URL}/orders/${id}/courier-location`, {
+      headers: getAuthHeaders(),
+      credentials: 'include'
+    });
+    return handleResponse(response);
+  },
+
   async updateStatus(orderId: string, status: string) {
     const response = await fetch(`${API_BASE_URL}/orders/${orderId}/status/${status}`, {
       method: 'PUT',
@@ -233,9 +249,30 @@ export const orderAPI = {
   },
 };
 
+export const adminAPI = {
+  // Dashboard figures kept in memory by the server; top is the number of restaurants to rank
+  async getDashboardSummary(top = 5) {
+    const response = await fetch(`${API_BASE_URL}/admin/dashboard/summary?top=${top}`, {
+      headers: getAuthHeaders(),
+      credentials: 'include'
+    });
+    return handleResponse(response);
+  },
+};
+
+export const catalogAPI = {
+  // Without since, returns only the version to sync from after loading the full catalog
+  async getChanges(since?: number) {
+    const query = since === undefined ? '' : `?since=${since}`;
+    const response = await fetch(`${API_BASE_URL}/catalog/changes${query}`);
+    return handleResponse(response);
+  },
+};
+
 export default {
   auth: authAPI,
   restaurant: restaurantAPI,
   menuItem: menuItemAPI,
   order: orderAPI,
+  catalog: catalogAPI,
 };
@@ -13,6 +13,8 @@ const Orders = () => {
   const [orders, setOrders] = useState<any[]>([]);
   const [loading, setLoading] = useState(true);
   const [cancellingOrderId, setCancellingOrderId] = useState<string | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchOrders();
@@ -51,15 +53,34 @@ const Orders = () => {
       console.log('Final orders array:', ordersArray);
       console.log('Number of orders:', ordersArray.length);
       setOrders(ordersArray);
+      setNextCursor((data as any)?.nextCursor ?? null);
     } catch (error: any) {
       console.error('Error fetching orders:', error);
       toast.error('Failed to load orders');
       setOrders([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
   };
 
+  const loadMoreOrders = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      const data: any = await orderAPI.getByUser(nextCursor);
+      setOrders((current) => [...current, ...(data?.orders ?? [])]);
+      setNextCursor(data?.nextCursor ?? null);
+    } catch (error: any) {
+      console.error('Error loading more orders:', error);
+      toast.error('Failed to load more orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCancelOrder = async (orderId: string) => {
     if (!confirm('Are you sure you want to cancel this order?')) {
       return;
@@ -242,6 +263,23 @@ const Orders = () => {
                 <p className="text-muted-foreground">Your order history will appear here</p>
               </Card>
             )}
+            {nextCursor && (
+              <Button
+                variant="outline"
+                className="w-full"
+                onClick={loadMoreOrders}
+                disabled={loadingMore}
+              >
+                {loadingMore ? (
+                  <>
+                    <Loader2 className="mr-2 h-4 w-4 animate-spin" />
+                    Loading...
+                  </>
+                ) : (
+                  'Load older orders'
+                )}
+              </Button>
+            )}
           </TabsContent>
         </Tabs>
       </div>
@@ -8,10 +8,13 @@ import { CheckCircle, Clock, Package, Truck, MapPin, Loader2 } from 'lucide-reac
 import { orderAPI } from '@/lib/api';
 import { toast } from 'sonner';
 
+const COURIER_POLL_MS = 5000;
+
 const TrackOrder = () => {
   const { orderId } = useParams();
   const [order, setOrder] = useState<any>(null);
   const [loading, setLoading] = useState(true);
+  const [courierLocation, setCourierLocation] = useState<any>(null);
 
   useEffect(() => {
     if (orderId) {
@@ -19,6 +22,43 @@ const TrackOrder = () => {
     }
   }, [orderId]);
 
+  // Status changes are pushed by the server instead of re-fetching the order
+  const orderNumber = order?.orderNumber;
+  const isFinished = order && ['DELIVERED', 'CANCELLED'].includes(order.status);
+  useEffect(() => {
+    if (!orderNumber || isFinished) {
+      return;
+    }
+    const source = orderAPI.subscribeToEvents(orderNumber, (update) => {
+      setOrder((current: any) => ({
+        ...current,
+        status: update.status,
+        estimatedDelivery: update.estimatedDelivery,
+      }));
+    });
+    return () => source.close();
+  }, [orderNumber, isFinished]);
+
+  // Poll the courier's live position while the order is on its way
+  const isActive = order && ['CONFIRMED', 'PREPARING', 'OUT_FOR_DELIVERY'].includes(order.status);
+  useEffect(() => {
+    if (!orderId || !isActive) {
+      setCourierLocation(null);
+      return;
+    }
+    const fetchCourierLocation = async () => {
+      try {
+        const data: any = await orderAPI.getCourierLocation(orderId);
+        setCourierLocation(data?.courierId ? data : null);
+      } catch (error) {
+        console.error('Error fetching courier location:', error);
+      }
+    };
+    fetchCourierLocation();
+    const timer = setInterval(fetchCourierLocation, COURIER_POLL_MS);
+    return () => clearInterval(timer);
+  }, [orderId, isActive]);
+
   const fetchOrder = async () => {
     try {
       setLoading(true);
@@ -142,6 +182,33 @@ const TrackOrder = () => {
             </CardContent>
           </Card>
 
+          {/* Courier Location */}
+          {courierLocation && (
+            <Card>
+              <CardHeader>
+                <CardTitle>Your Courier</CardTitle>
+              </CardHeader>
+              <CardContent>
+                <div className="flex items-center gap-3">
+                  <Truck className="h-6 w-6 text-primary" />
+                  <div>
+                    <a
+                      href={`https://www.openstreetmap.org/?mlat=${courierLocation.latitude}&mlon=${courierLocation.longitude}#map=16/${courierLocation.latitude}/${courierLocation.longitude}`}
+                      target="_blank"
+                      rel="noopener noreferrer"
+                      className="font-semibold text-primary hover:underline"
+                    >
+                      {courierLocation.latitude.toFixed(5)}, {courierLocation.longitude.toFixed(5)}
+                    </a>
+                    <p className="text-sm text-muted-foreground">
+                      Updated {new Date(courierLocation.recordedAt).toLocaleTimeString()}
+                    </p>
+                  </div>
+                </div>
+              </CardContent>
+            </Card>
+          )}
+
           {/* Order Details */}
           <Card>
             <CardHeader>
@@ -1,47 +1,80 @@
+import { useState, useEffect } from 'react';
 import Navbar from '@/components/Navbar';
 import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
-import { DollarSign, ShoppingBag, TrendingUp, Users } from 'lucide-react';
+import { DollarSign, ShoppingBag, Receipt, TrendingUp } from 'lucide-react';
+import { toast } from 'sonner';
+import { adminAPI, orderAPI, restaurantAPI } from '@/lib/api';
+
+// The summary is cheap to serve, so it is simply polled
+const REFRESH_INTERVAL_MS = 15000;
+
+const formatMoney = (value: number | undefined) =>
+  `$${(value ?? 0).toLocaleString(undefined, { minimumFractionDigits: 2, maximumFractionDigits: 2 })}`;
 
 const AdminDashboard = () => {
+  const [summary, setSummary] = useState<any>(null);
+  const [recentOrders, setRecentOrders] = useState<any[]>([]);
+  const [restaurantNames, setRestaurantNames] = useState<Record<string, string>>({});
+
+  useEffect(() => {
+    const loadSummary = () => {
+      adminAPI.getDashboardSummary()
+        .then(setSummary)
+        .catch(() => toast.error('Failed to load dashboard'));
+    };
+    loadSummary();
+    orderAPI.search({ limit: 5 })
+      .then((data: any) => setRecentOrders(data?.orders ?? []))
+      .catch(() => setRecentOrders([]));
+    restaurantAPI.getAll()
+      .then((data: any) => {
+        const names: Record<string, string> = {};
+        (Array.isArray(data) ? data : []).forEach((restaurant: any) => {
+          names[restaurant.id] = restaurant.name;
+        });
+        setRestaurantNames(names);
+      })
+      .catch(() => setRestaurantNames({}));
+    const timer = setInterval(loadSummary, REFRESH_INTERVAL_MS);
+    return () => clearInterval(timer);
+  }, []);
+
+  const activeOrders = summary
+    ? ['PENDING', 'CONFIRMED', 'PREPARING', 'OUT_FOR_DELIVERY']
+        .reduce((sum, status) => sum + (summary.ordersByStatus?.[status] ?? 0), 0)
+    : 0;
+
   const stats = [
     {
       title: 'Total Revenue',
-      value: '$45,231',
-      change: '+20.1%',
+      value: formatMoney(summary?.revenue),
+      change: `${summary?.orders ?? 0} orders`,
       icon: DollarSign,
       color: 'text-secondary',
     },
     {
       title: 'Orders Today',
-      value: '245',
-      change: '+12.5%',
+      value: String(summary?.ordersToday ?? 0),
+      change: formatMoney(summary?.revenueToday),
       icon: ShoppingBag,
       color: 'text-primary',
     },
     {
-      title: 'Active Customers',
-      value: '1,234',
-      change: '+8.3%',
-      icon: Users,
+      title: 'Average Ticket',
+      value: formatMoney(summary?.averageTicket),
+      change: `${formatMoney(summary?.averageTicketToday)} today`,
+      icon: Receipt,
       color: 'text-accent',
     },
     {
-      title: 'Growth',
-      value: '23.4%',
-      change: '+4.2%',
+      title: 'Active Orders',
+      value: String(activeOrders),
+      change: `${summary?.ordersByStatus?.DELIVERED ?? 0} delivered`,
       icon: TrendingUp,
       color: 'text-secondary',
     },
   ];
 
-  const recentOrders = [
-    { id: 'ORD123', customer: 'John Doe', amount: 45.99, status: 'Delivered' },
-    { id: 'ORD124', customer: 'Jane Smith', amount: 32.50, status: 'Out for Delivery' },
-    { id: 'ORD125', customer: 'Bob Johnson', amount: 58.75, status: 'Preparing' },
-    { id: 'ORD126', customer: 'Alice Brown', amount: 27.99, status: 'Confirmed' },
-    { id: 'ORD127', customer: 'Charlie Wilson', amount: 41.25, status: 'Pending' },
-  ];
-
   return (
     <div className="min-h-screen bg-background">
       <Navbar />
@@ -83,12 +116,16 @@ const AdminDashboard = () => {
                 {recentOrders.map((order) => (
                   <div key={order.id} className="flex items-center justify-between p-3 border rounded-lg">
                     <div>
-                      <p className="font-medium">{order.id}</p>
-                      <p className="text-sm text-muted-foreground">{order.customer}</p>
+                      <p className="font-medium">{order.orderNumber}</p>
+                      <p className="text-sm text-muted-foreground">
+                        {order.user?.firstName} {order.user?.lastName}
+                      </p>
                     </div>
                     <div className="text-right">
-                      <p className="font-semibold">${order.amount}</p>
-                      <p className="text-sm text-muted-foreground">{order.status}</p>
+                      <p className="font-semibold">{formatMoney(order.total)}</p>
+                      <p className="text-sm text-muted-foreground capitalize">
+                        {order.status?.toLowerCase().replace(/_/g, ' ')}
+                      </p>
                     </div>
                   </div>
                 ))}
@@ -96,31 +133,29 @@ const AdminDashboard = () => {
             </CardContent>
           </Card>
 
-          {/* Popular Items */}
+          {/* Top Restaurants */}
           <Card>
             <CardHeader>
-              <CardTitle>Popular Items</CardTitle>
+              <CardTitle>Top Restaurants</CardTitle>
             </CardHeader>
             <CardContent>
               <div className="space-y-4">
-                {[
-                  { name: 'Margherita Pizza', orders: 89, revenue: '$1,156' },
-                  { name: 'Classic Burger', orders: 76, revenue: '$835' },
-                  { name: 'Sushi Platter', orders: 63, revenue: '$1,574' },
-                  { name: 'Caesar Salad', orders: 54, revenue: '$486' },
-                  { name: 'Pepperoni Pizza', orders: 48, revenue: '$719' },
-                ].map((item, idx) => (
-                  <div key={idx} className="flex items-center justify-between p-3 border rounded-lg">
+                {(summary?.topRestaurants ?? []).map((item: any, idx: number) => (
+                  <div key={item.restaurantId} className="flex items-center justify-between p-3 border rounded-lg">
                     <div className="flex items-center gap-3">
                       <div className="h-10 w-10 rounded-full bg-primary/10 flex items-center justify-center font-bold text-primary">
                         {idx + 1}
                       </div>
                       <div>
-                        <p className="font-medium">{item.name}</p>
-                        <p className="text-sm text-muted-foreground">{item.orders} orders</p>
+                        <p className="font-medium">
+                          {restaurantNames[item.restaurantId] ?? `Restaurant #${item.restaurantId}`}
+                        </p>
+                        <p className="text-sm text-muted-foreground">
+                          {item.orders} orders · avg {formatMoney(item.averageTicket)}
+                        </p>
                       </div>
                     </div>
-                    <p className="font-semibold">{item.revenue}</p>
+                    <p className="font-semibold">{formatMoney(item.revenue)}</p>
                   </div>
                 ))}
               </div>
@@ -7,23 +7,54 @@ import { Input } from '@/components/ui/input';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@/components/ui/select';
 import { Search, Loader2 } from 'lucide-react';
 import { toast } from 'sonner';
-import { orderAPI } from '@/lib/api';
+import { orderAPI, restaurantAPI } from '@/lib/api';
+
+const STATUSES = [
+  { value: 'PENDING', label: 'Pending' },
+  { value: 'CONFIRMED', label: 'Confirmed' },
+  { value: 'PREPARING', label: 'Preparing' },
+  { value: 'OUT_FOR_DELIVERY', label: 'Out for Delivery' },
+  { value: 'DELIVERED', label: 'Delivered' },
+  { value: 'CANCELLED', label: 'Cancelled' },
+];
 
 const AdminOrders = () => {
   const [searchQuery, setSearchQuery] = useState('');
   const [statusFilter, setStatusFilter] = useState('all');
+  const [restaurantFilter, setRestaurantFilter] = useState('all');
+  const [fromDate, setFromDate] = useState('');
+  const [toDate, setToDate] = useState('');
+  const [restaurants, setRestaurants] = useState<any[]>([]);
   const [orders, setOrders] = useState<any[]>([]);
+  const [counts, setCounts] = useState<Record<string, number>>({});
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
-    loadOrders();
+    restaurantAPI.getAll()
+      .then((data) => setRestaurants(Array.isArray(data) ? data : []))
+      .catch(() => setRestaurants([]));
   }, []);
 
+  useEffect(() => {
+    loadOrders();
+  }, [statusFilter, restaurantFilter, fromDate, toDate]);
+
+  const currentFilters = () => ({
+    statuses: statusFilter === 'all' ? undefined : [statusFilter],
+    restaurantId: restaurantFilter === 'all' ? undefined : restaurantFilter,
+    from: fromDate || undefined,
+    to: toDate || undefined,
+  });
+
   const loadOrders = async () => {
     setIsLoading(true);
     try {
-      const data = await orderAPI.getAll();
-      setOrders(data);
+      const data: any = await orderAPI.search(currentFilters());
+      setOrders(data?.orders ?? []);
+      setCounts(data?.counts ?? {});
+      setNextCursor(data?.nextCursor ?? null);
     } catch (error: any) {
       toast.error('Failed to load orders');
     } finally {
@@ -31,11 +62,28 @@ const AdminOrders = () => {
     }
   };
 
-  const filteredOrders = orders.filter((order) => {
-    const matchesSearch = order.orderNumber?.toLowerCase().includes(searchQuery.toLowerCase());
-    const matchesStatus = statusFilter === 'all' || order.status === statusFilter;
-    return matchesSearch && matchesStatus;
-  });
+  const loadMoreOrders = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const data: any = await orderAPI.search({ ...currentFilters(), cursor: nextCursor });
+      setOrders((current) => [...current, ...(data?.orders ?? [])]);
+      setNextCursor(data?.nextCursor ?? null);
+    } catch (error: any) {
+      toast.error('Failed to load more orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const totalCount = Object.values(counts).reduce((sum, count) => sum + count, 0);
+
+  // Searching by order number narrows the pages already loaded
+  const filteredOrders = orders.filter((order) =>
+    order.orderNumber?.toLowerCase().includes(searchQuery.toLowerCase())
+  );
 
   const handleUpdateStatus = async (orderId: string, orderNumber: string, newStatus: string) => {
     try {
@@ -87,19 +135,45 @@ const AdminOrders = () => {
             />
           </div>
           <Select value={statusFilter} onValueChange={setStatusFilter}>
-            <SelectTrigger className="w-48">
+            <SelectTrigger className="w-56">
               <SelectValue placeholder="Filter by status" />
             </SelectTrigger>
             <SelectContent>
-              <SelectItem value="all">All Orders</SelectItem>
-              <SelectItem value="PENDING">Pending</SelectItem>
-              <SelectItem value="CONFIRMED">Confirmed</SelectItem>
-              <SelectItem value="PREPARING">Preparing</SelectItem>
-              <SelectItem value="OUT_FOR_DELIVERY">Out for Delivery</SelectItem>
-              <SelectItem value="DELIVERED">Delivered</SelectItem>
-              <SelectItem value="CANCELLED">Cancelled</SelectItem>
+              <SelectItem value="all">All Orders ({totalCount})</SelectItem>
+              {STATUSES.map((status) => (
+                <SelectItem key={status.value} value={status.value}>
+                  {status.label} ({counts[status.value] ?? 0})
+                </SelectItem>
+              ))}
+            </SelectContent>
+          </Select>
+          <Select value={restaurantFilter} onValueChange={setRestaurantFilter}>
+            <SelectTrigger className="w-48">
+              <SelectValue placeholder="Filter by restaurant" />
+            </SelectTrigger>
+            <SelectContent>
+              <SelectItem value="all">All Restaurants</SelectItem>
+              {restaurants.map((restaurant) => (
+                <SelectItem key={restaurant.id} value={String(restaurant.id)}>
+                  {restaurant.name}
+                </SelectItem>
+              ))}
             </SelectContent>
           </Select>
+          <Input
+            type="date"
+            value={fromDate}
+            onChange={(e) => setFromDate(e.target.value)}
+            className="w-40"
+            aria-label="From date"
+          />
+          <Input
+            type="date"
+            value={toDate}
+            onChange={(e) => setToDate(e.target.value)}
+            className="w-40"
+            aria-label="To date"
+          />
         </div>
 
         {isLoading ? (
@@ -185,6 +259,24 @@ const AdminOrders = () => {
           </div>
         )}
 
+        {!isLoading && nextCursor && (
+          <Button
+            variant="outline"
+            className="w-full mt-4"
+            onClick={loadMoreOrders}
+            disabled={loadingMore}
+          >
+            {loadingMore ? (
+              <>
+                <Loader2 className="mr-2 h-4 w-4 animate-spin" />
+                Loading...
+              </>
+            ) : (
+              'Load older orders'
+            )}
+          </Button>
+        )}
+
         {!isLoading && filteredOrders.length === 0 && (
           <div className="text-center py-12">
             <p className="text-muted-foreground">No orders found</p>